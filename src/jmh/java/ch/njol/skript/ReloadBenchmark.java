@@ -0,0 +1,156 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.RegisteredListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.ScriptLoader.ScriptInfo;
+import ch.njol.skript.SkriptEventHandler.PriorityListener;
+import ch.njol.skript.benchmark.BenchmarkEvent;
+import ch.njol.skript.benchmark.HeadlessSkript;
+import ch.njol.skript.config.Config;
+import ch.njol.skript.log.RetainingLogHandler;
+
+/**
+ * Reloading scripts with many triggers, and registering the Bukkit listeners for their events afterwards.
+ * <p>
+ * {@link #registerBukkitEventsPerTrigger()} emulates how the listeners were registered before the registered priorities
+ * were remembered per {@link HandlerList}: the HandlerList of every trigger's event was looked up reflectively
+ * and its registered listeners were walked.
+ * <p>
+ * In this package as {@link SkriptEventHandler#registerBukkitEvents()} and {@link SkriptEventHandler#removeAllTriggers()} aren't public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReloadBenchmark {
+
+	private static final int TRIGGERS_PER_SCRIPT = 100;
+
+	@Param({"100", "1000", "10000"})
+	public int triggers;
+
+	private final List<String> scripts = new ArrayList<>();
+	private final Map<Class<? extends Event>, Method> handlerListMethods = new HashMap<>();
+
+	@Setup
+	public void setup() throws IOException {
+		HeadlessSkript.start();
+
+		// The headless plugin manager doesn't register anything, so register Skript's listener like Bukkit would
+		PriorityListener listener = new PriorityListener(EventPriority.NORMAL);
+		HandlerList handlerList = BenchmarkEvent.getHandlerList();
+		handlerList.unregister(Skript.getInstance());
+		handlerList.register(new RegisteredListener(listener, listener.executor, EventPriority.NORMAL, Skript.getInstance(), false));
+
+		StringBuilder script = new StringBuilder();
+		for (int i = 0; i < triggers; i++) {
+			script.append("on benchmark:\n\tset {_x} to ").append(i).append('\n');
+			if ((i + 1) % TRIGGERS_PER_SCRIPT == 0 || i == triggers - 1) {
+				scripts.add(script.toString());
+				script.setLength(0);
+			}
+		}
+
+		ScriptInfo info = reload();
+		if (info.triggers != triggers)
+			throw new IllegalStateException("Loaded " + info.triggers + " triggers instead of " + triggers);
+	}
+
+	private List<Config> loadStructures() throws IOException {
+		List<Config> configs = new ArrayList<>(scripts.size());
+		for (int i = 0; i < scripts.size(); i++) {
+			try (InputStream in = new ByteArrayInputStream(scripts.get(i).getBytes(StandardCharsets.UTF_8))) {
+				Config config = ScriptLoader.loadStructure(in, "reload" + i + ".sk");
+				if (config == null)
+					throw new IOException("Could not load script " + i);
+				configs.add(config);
+			}
+		}
+		return configs;
+	}
+
+	/**
+	 * Unloads all triggers and loads the scripts again, which also registers the Bukkit listeners.
+	 */
+	@Benchmark
+	public ScriptInfo reload() throws IOException {
+		SkriptEventHandler.removeAllTriggers();
+		RetainingLogHandler log = new RetainingLogHandler();
+		ScriptInfo info = ScriptLoader.loadScripts(loadStructures(), log).join();
+		if (log.hasErrors()) {
+			log.printLog();
+			throw new IllegalStateException("The benchmark scripts have errors");
+		}
+		return info;
+	}
+
+	@Benchmark
+	public void registerBukkitEvents() {
+		SkriptEventHandler.registerBukkitEvents();
+	}
+
+	@Benchmark
+	public int registerBukkitEventsPerTrigger() throws ReflectiveOperationException {
+		int registered = 0;
+		for (int i = 0; i < triggers; i++) {
+			Method method;
+			synchronized (handlerListMethods) {
+				method = handlerListMethods.get(BenchmarkEvent.class);
+				if (method == null) {
+					method = BenchmarkEvent.class.getDeclaredMethod("getHandlerList");
+					method.setAccessible(true);
+					handlerListMethods.put(BenchmarkEvent.class, method);
+				}
+			}
+			HandlerList handlerList = (HandlerList) method.invoke(null);
+			for (RegisteredListener rl : handlerList.getRegisteredListeners()) {
+				if (rl.getPlugin() == Skript.getInstance() && rl.getListener() instanceof PriorityListener
+						&& ((PriorityListener) rl.getListener()).priority == EventPriority.NORMAL) {
+					registered++;
+					break;
+				}
+			}
+		}
+		return registered;
+	}
+
+}
@@ -0,0 +1,112 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.command.Argument;
+import ch.njol.skript.command.ArgumentParser;
+import ch.njol.skript.command.ScriptCommand;
+import ch.njol.skript.command.ScriptCommandEvent;
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.patterns.PatternCompiler;
+import ch.njol.skript.patterns.SkriptPattern;
+import ch.njol.skript.registrations.Classes;
+
+/**
+ * Parsing the arguments of a command like <tt>/pay &lt;number&gt; &lt;number&gt; &lt;text&gt;</tt>,
+ * with the word based fast path of the {@link ArgumentParser} and with the command's pattern.
+ * {@link #parseArgumentsFallback()} passes input which the fast path rejects, so that it is parsed with the pattern afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArgumentParserBenchmark {
+
+	private static final String INPUT = "5 12.5 hello world";
+	private static final String LENIENT_INPUT = "5  12.5 hello world";
+
+	private ScriptCommand command;
+	private ScriptCommandEvent event;
+	private SkriptPattern pattern;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		ClassInfo<Number> number = Classes.getExactClassInfo(Number.class);
+		ClassInfo<String> text = Classes.getExactClassInfo(String.class);
+		assert number != null && text != null;
+		List<Argument<?>> arguments = new ArrayList<>();
+		arguments.add(Argument.newInstance(null, number, null, 0, true, false));
+		arguments.add(Argument.newInstance(null, number, null, 1, true, false));
+		arguments.add(Argument.newInstance(null, text, null, 2, true, false));
+		String commandPattern = "%" + number.getCodeName() + "% %" + number.getCodeName() + "% %" + text.getCodeName() + "%";
+
+		command = new ScriptCommand(null, "pay", commandPattern, arguments, "", "", new ArrayList<>(), "",
+			null, null, null, "", null, ScriptCommand.BOTH, Collections.<TriggerItem>emptyList());
+		event = new ScriptCommandEvent(command, Bukkit.getConsoleSender(), "pay", INPUT);
+		pattern = PatternCompiler.compile(commandPattern);
+		if (!command.getArgumentParser().parse(INPUT, event))
+			throw new IllegalStateException("The fast path doesn't accept the benchmark's command");
+	}
+
+	@Benchmark
+	public boolean fastPath() {
+		return command.getArgumentParser().parse(INPUT, event);
+	}
+
+	/**
+	 * How the arguments were parsed before the fast path existed
+	 */
+	@Benchmark
+	public boolean patternPath() {
+		ParseResult result = SkriptParser.parse(INPUT, pattern);
+		if (result == null)
+			return false;
+		List<Argument<?>> arguments = command.getArguments();
+		for (int i = 0; i < result.exprs.length; i++) {
+			if (result.exprs[i] == null)
+				arguments.get(i).setToDefault(event);
+			else
+				arguments.get(i).set(event, result.exprs[i].getArray(event));
+		}
+		return true;
+	}
+
+	@Benchmark
+	public boolean parseArgumentsFallback() {
+		return SkriptParser.parseArguments(LENIENT_INPUT, command, event);
+	}
+
+}
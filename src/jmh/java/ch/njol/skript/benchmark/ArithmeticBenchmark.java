@@ -0,0 +1,126 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import ch.njol.skript.expressions.arithmetic.Operator;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.NumberExpression;
+import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.variables.Variables;
+
+/**
+ * Evaluating chains of additions and subtractions like <tt>{_a} + {_b} - 2 + ...</tt>,
+ * through the primitive {@link NumberExpression} channel, through {@link Expression#getSingle(org.bukkit.event.Event)},
+ * and by boxing the intermediate result after every operator like arithmetic was evaluated before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArithmeticBenchmark {
+
+	private static final String[] OPERANDS = {"{_a}", "{_b}", "2"};
+
+	@Param({"2", "8", "32"})
+	public int length;
+
+	/**
+	 * Whether all operands are integers, so that the chain is evaluated with longs instead of doubles
+	 */
+	@Param({"true", "false"})
+	public boolean integer;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+
+	@SuppressWarnings("null")
+	private NumberExpression<?> chain;
+	@SuppressWarnings("null")
+	private Expression<?>[] operands;
+	@SuppressWarnings("null")
+	private Operator[] operators;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		Variables.setVariable("a", 5L, event, true);
+		Variables.setVariable("b", integer ? (Object) 3L : (Object) 2.5, event, true);
+
+		StringBuilder chain = new StringBuilder(OPERANDS[0]);
+		operands = new Expression[length];
+		operators = new Operator[length - 1];
+		operands[0] = parse(OPERANDS[0]);
+		for (int i = 1; i < length; i++) {
+			operators[i - 1] = i % 2 == 1 ? Operator.PLUS : Operator.MINUS;
+			String operand = OPERANDS[i % OPERANDS.length];
+			chain.append(' ').append(operators[i - 1]).append(' ').append(operand);
+			operands[i] = parse(operand);
+		}
+		Expression<?> expression = parse(chain.toString());
+		if (!(expression instanceof NumberExpression))
+			throw new IllegalStateException(chain + " is not a NumberExpression but " + expression.getClass());
+		this.chain = (NumberExpression<?>) expression;
+	}
+
+	private static Expression<?> parse(String expression) {
+		Expression<?> parsed = new SkriptParser(expression, SkriptParser.ALL_FLAGS, ParseContext.DEFAULT).parseExpression(Number.class);
+		if (parsed == null)
+			throw new IllegalStateException("Could not parse " + expression);
+		return parsed;
+	}
+
+	@TearDown
+	public void tearDown() {
+		Variables.removeLocals(event);
+	}
+
+	@Benchmark
+	public double primitive() {
+		return integer ? chain.getLong(event) : chain.getDouble(event);
+	}
+
+	@Benchmark
+	public Object boxedResult() {
+		return chain.getSingle(event);
+	}
+
+	@Benchmark
+	public Number boxedEveryStep() {
+		Number result = (Number) operands[0].getSingle(event);
+		for (int i = 0; i < operators.length; i++) {
+			Number operand = (Number) operands[i + 1].getSingle(event);
+			if (result == null || operand == null)
+				return null;
+			result = operators[i].calculate(result, operand, integer);
+		}
+		return result;
+	}
+
+}
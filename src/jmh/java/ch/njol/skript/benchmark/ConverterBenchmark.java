@@ -0,0 +1,88 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.classes.Comparator;
+import ch.njol.skript.classes.Comparator.Relation;
+import ch.njol.skript.classes.Converter;
+import ch.njol.skript.registrations.Comparators;
+import ch.njol.skript.registrations.Converters;
+
+/**
+ * Looking up and using {@link Converters} and {@link Comparators}, including chained converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmark {
+
+	private Object integer = 5, decimal = 2.5, string = "text";
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+	}
+
+	@Benchmark
+	public Converter<?, ?> getConverter() {
+		return Converters.getConverter(Integer.class, Long.class);
+	}
+
+	@Benchmark
+	public Converter<?, ?> getChainedConverter() {
+		// Integer -> Long -> Double, created by Converters.createMissingConverters()
+		return Converters.getConverter(Integer.class, Double.class);
+	}
+
+	@Benchmark
+	public Converter<?, ?> getMissingConverter() {
+		return Converters.getConverter(String.class, Long.class);
+	}
+
+	@Benchmark
+	public Object convert() {
+		return Converters.convert(integer, String.class);
+	}
+
+	@Benchmark
+	public Comparator<?, ?> getComparator() {
+		return Comparators.getComparator(Integer.class, Double.class);
+	}
+
+	@Benchmark
+	public Relation compareNumbers() {
+		return Comparators.compare(integer, decimal);
+	}
+
+	@Benchmark
+	public Relation compareUnrelated() {
+		return Comparators.compare(integer, string);
+	}
+
+}
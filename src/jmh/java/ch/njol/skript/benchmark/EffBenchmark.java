@@ -0,0 +1,59 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.lang.Effect;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.util.Kleenean;
+
+/**
+ * An effect that evaluates its expressions and keeps the amount of values, so that the evaluation can't be optimised away.
+ * Registered as <code>benchmark %objects%</code> by {@link HeadlessSkript}.
+ */
+public class EffBenchmark extends Effect {
+
+	/**
+	 * The total amount of values this effect has evaluated to
+	 */
+	public static long evaluated = 0;
+
+	@SuppressWarnings("null")
+	private Expression<?> objects;
+
+	@Override
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		objects = exprs[0];
+		return true;
+	}
+
+	@Override
+	protected void execute(Event e) {
+		evaluated += objects.getArray(e).length;
+	}
+
+	@Override
+	public String toString(@Nullable Event e, boolean debug) {
+		return "benchmark " + objects.toString(e, debug);
+	}
+
+}
@@ -0,0 +1,251 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.events.EvtMoveOn;
+
+/**
+ * Filtering synthetic streams of move events like {@link EvtMoveOn} does, before and after
+ * moves which stay on the same block were dropped without looking up any blocks.
+ * <p>
+ * EvtMoveOn can't be loaded without the aliases, so both filters are copied here,
+ * with fences recognised by their material's name instead of the "fence part" alias.
+ * The world's block lookups are cheaper than a server's, so the measured difference is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvtMoveOnBenchmark {
+
+	private static final int EVENTS = 4096;
+
+	/**
+	 * The ground is at y = 64, with fences on every 8th block
+	 */
+	private static final int GROUND = 64, FENCE_SPACING = 8;
+
+	/**
+	 * <tt>rotations</tt>: only the head moves, <tt>walking</tt>: steps of 0.1 blocks on flat ground,
+	 * <tt>jumping</tt>: steps of 0.1 blocks while jumping from fence to fence
+	 */
+	@Param({"rotations", "walking", "jumping"})
+	public String stream;
+
+	private final Location[] from = new Location[EVENTS], to = new Location[EVENTS];
+
+	private final Map<Material, List<Object>> triggerLists = new HashMap<>();
+	private final EnumMap<Material, Object[]> triggerArrays = new EnumMap<>(Material.class);
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		World world = world();
+		Location previous = new Location(world, 0.5, GROUND, 0.5);
+		for (int i = 0; i < EVENTS; i++) {
+			Location next;
+			switch (stream) {
+				case "rotations":
+					next = previous.clone();
+					next.setYaw(i % 360);
+					break;
+				case "walking":
+					next = new Location(world, 0.5 + i * 0.1, GROUND, 0.5);
+					break;
+				case "jumping":
+					double x = 0.5 + i * 0.1;
+					double y = Math.floorMod((int) Math.floor(x), FENCE_SPACING) == 0 ? GROUND + 1.5 // on a fence
+						: GROUND + Math.abs(Math.sin(x * Math.PI / FENCE_SPACING));
+					next = new Location(world, x, y, 0.5);
+					break;
+				default:
+					throw new IllegalArgumentException(stream);
+			}
+			from[i] = previous;
+			to[i] = next;
+			previous = next;
+		}
+
+		for (Material material : new Material[] {Material.STONE, Material.OAK_FENCE}) {
+			Object trigger = new Object();
+			triggerLists.put(material, Collections.singletonList(trigger));
+			triggerArrays.put(material, new Object[] {trigger});
+		}
+	}
+
+	private static World world() {
+		Map<Material, Block> blocks = new EnumMap<>(Material.class);
+		for (Material material : new Material[] {Material.AIR, Material.STONE, Material.GRASS_BLOCK, Material.OAK_FENCE})
+			blocks.put(material, stub(Block.class, material));
+		return stub(World.class, (proxy, args) -> {
+			int x = (int) args[0], y = (int) args[1];
+			Material material;
+			if (y < GROUND)
+				material = (x & 1) == 0 ? Material.STONE : Material.GRASS_BLOCK;
+			else if (y == GROUND && Math.floorMod(x, FENCE_SPACING) == 0)
+				material = Material.OAK_FENCE;
+			else
+				material = Material.AIR;
+			return blocks.get(material);
+		});
+	}
+
+	private static <T> T stub(Class<T> type, Object value) {
+		return stub(type, (proxy, args) -> value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(Class<T> type, StubMethod method) {
+		return (T) Proxy.newProxyInstance(EvtMoveOnBenchmark.class.getClassLoader(), new Class<?>[] {type}, (proxy, m, args) -> {
+			switch (m.getName()) {
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				case "getBlockAt": // World
+				case "getType": // Block
+					return method.invoke(proxy, args);
+				default:
+					return null;
+			}
+		});
+	}
+
+	private interface StubMethod {
+		Object invoke(Object proxy, Object[] args);
+	}
+
+	/**
+	 * The filter before moves within a block were dropped early: the block below both locations is always looked up.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(EVENTS)
+	public int filterAlwaysLookingUp() {
+		int passed = 0;
+		for (int i = 0; i < EVENTS; i++) {
+			Location from = this.from[i], to = this.to[i];
+			Block block = getOnBlockOld(to);
+			if (block == null || block.getType() == Material.AIR)
+				continue;
+			Material id = block.getType();
+			List<Object> ts = triggerLists.get(id);
+			if (ts == null)
+				continue;
+			int y = getBlockY(to.getY(), id);
+			if (to.getWorld().equals(from.getWorld()) && to.getBlockX() == from.getBlockX() && to.getBlockZ() == from.getBlockZ()
+					&& y == getBlockY(from.getY(), getOnBlockOld(from).getType()) && getOnBlockOld(from).getType() == id)
+				continue;
+			passed += ts.size();
+		}
+		return passed;
+	}
+
+	/**
+	 * The current filter, which drops moves that stay on the same block before looking up any blocks.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(EVENTS)
+	public int filterSkippingSameBlock() {
+		int passed = 0;
+		for (int i = 0; i < EVENTS; i++) {
+			Location from = this.from[i], to = this.to[i];
+			boolean sameColumn = to.getBlockX() == from.getBlockX() && to.getBlockZ() == from.getBlockZ() && to.getWorld().equals(from.getWorld());
+			if (sameColumn && isSameHeight(to.getY(), from.getY()))
+				continue;
+			Block block = getOnBlock(to);
+			if (block == null || block.getType() == Material.AIR)
+				continue;
+			Material id = block.getType();
+			Object[] ts = triggerArrays.get(id);
+			if (ts == null)
+				continue;
+			if (sameColumn) {
+				Block fromBlock = getOnBlock(from);
+				if (fromBlock != null && fromBlock.getType() == id && getBlockY(to.getY(), id) == getBlockY(from.getY(), id))
+					continue;
+			}
+			passed += ts.length;
+		}
+		return passed;
+	}
+
+	private static boolean isFence(Material material) {
+		return material.name().endsWith("_FENCE") || material.name().endsWith("_FENCE_GATE");
+	}
+
+	private static boolean isSameHeight(double y1, double y2) {
+		return Math.ceil(y1) == Math.ceil(y2) && Math.floor(y1) == Math.floor(y2) && isOnFence(y1) == isOnFence(y2);
+	}
+
+	private static boolean isOnFence(double y) {
+		return Math.abs((y - Math.floor(y)) - 0.5) < Skript.EPSILON;
+	}
+
+	@Nullable
+	private static Block getOnBlockOld(Location l) {
+		Block block = l.getWorld().getBlockAt(l.getBlockX(), (int) (Math.ceil(l.getY()) - 1), l.getBlockZ());
+		if (block.getType() == Material.AIR && Math.abs((l.getY() - l.getBlockY()) - 0.5) < Skript.EPSILON) {
+			block = l.getWorld().getBlockAt(l.getBlockX(), l.getBlockY() - 1, l.getBlockZ());
+			if (!isFence(block.getType()))
+				return null;
+		}
+		return block;
+	}
+
+	@Nullable
+	private static Block getOnBlock(Location l) {
+		Block block = l.getWorld().getBlockAt(l.getBlockX(), (int) (Math.ceil(l.getY()) - 1), l.getBlockZ());
+		if (block.getType() == Material.AIR && isOnFence(l.getY())) {
+			block = l.getWorld().getBlockAt(l.getBlockX(), l.getBlockY() - 1, l.getBlockZ());
+			if (!isFence(block.getType()))
+				return null;
+		}
+		return block;
+	}
+
+	private static int getBlockY(double y, Material id) {
+		if (isFence(id) && isOnFence(y))
+			return (int) Math.floor(y) - 1;
+		return (int) Math.ceil(y) - 1;
+	}
+
+}
@@ -0,0 +1,143 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.config.Config;
+import ch.njol.skript.lang.function.Function;
+import ch.njol.skript.lang.function.FunctionEvent;
+import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.log.RetainingLogHandler;
+import ch.njol.skript.variables.LocalVariableSlot;
+import ch.njol.skript.variables.Variables;
+
+/**
+ * The overhead of calling script functions with single and list parameters, and of binding their parameters
+ * to local variables through {@link LocalVariableSlot}s and by setting every value by name like calls did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FunctionCallBenchmark {
+
+	private static final String SCRIPT = "function singles(a: number, b: number, c: text) :: number:\n"
+		+ "\treturn {_a}\n"
+		+ "function list(values: numbers) :: number:\n"
+		+ "\treturn 1\n";
+
+	/**
+	 * The amount of values passed to the list parameter
+	 */
+	@Param({"1", "10", "100"})
+	public int size;
+
+	@SuppressWarnings("null")
+	private Function<?> singles, list;
+	@SuppressWarnings("null")
+	private Object[][] singleValues, listValues;
+	@SuppressWarnings("null")
+	private LocalVariableSlot[] singleSlots, listSlots;
+	@SuppressWarnings("null")
+	private FunctionEvent<?> event;
+
+	@Setup
+	public void setup() throws IOException {
+		HeadlessSkript.start();
+		Config config;
+		try (InputStream in = new ByteArrayInputStream(SCRIPT.getBytes(StandardCharsets.UTF_8))) {
+			config = ScriptLoader.loadStructure(in, "functions.sk");
+		}
+		if (config == null)
+			throw new IOException("Could not load the benchmark functions");
+		RetainingLogHandler log = new RetainingLogHandler();
+		ScriptLoader.loadScripts(Collections.singletonList(config), log).join();
+		if (log.hasErrors()) {
+			log.printLog();
+			throw new IllegalStateException("The benchmark functions have errors");
+		}
+		singles = Functions.getFunction("singles");
+		list = Functions.getFunction("list");
+		if (singles == null || list == null)
+			throw new IllegalStateException("The benchmark functions were not loaded");
+
+		singleValues = new Object[][] {{1L}, {2.5}, {"text"}};
+		Object[] values = new Object[size];
+		for (int i = 0; i < size; i++)
+			values[i] = (long) i;
+		listValues = new Object[][] {values};
+		singleSlots = new LocalVariableSlot[] {new LocalVariableSlot("a", false), new LocalVariableSlot("b", false), new LocalVariableSlot("c", false)};
+		listSlots = new LocalVariableSlot[] {new LocalVariableSlot("values", true)};
+		event = new FunctionEvent<>(singles);
+	}
+
+	@Benchmark
+	public Object[] callSingles() {
+		return singles.execute(singleValues);
+	}
+
+	@Benchmark
+	public Object[] callList() {
+		return list.execute(listValues);
+	}
+
+	@Benchmark
+	public void bindSinglesToSlots() {
+		Variables.setLocalVariables(event, singleSlots, singleValues);
+		Variables.removeLocals(event);
+	}
+
+	@Benchmark
+	public void bindSinglesByName() {
+		Variables.setVariable("a", singleValues[0][0], event, true);
+		Variables.setVariable("b", singleValues[1][0], event, true);
+		Variables.setVariable("c", singleValues[2][0], event, true);
+		Variables.removeLocals(event);
+	}
+
+	@Benchmark
+	public void bindListToSlots() {
+		Variables.setLocalVariables(event, listSlots, listValues);
+		Variables.removeLocals(event);
+	}
+
+	@Benchmark
+	public void bindListByName() {
+		Object[] values = listValues[0];
+		for (int i = 0; i < values.length; i++)
+			Variables.setVariable("values::" + (i + 1), values[i], event, true);
+		Variables.removeLocals(event);
+	}
+
+}
@@ -0,0 +1,123 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A {@link Server} which lets Skript's classes be used without a running Minecraft server.
+ * <p>
+ * All methods return an empty value (false, 0, null or an empty collection), except for the few which Bukkit
+ * and Skript need during startup. Benchmarks must thus only use code which doesn't depend on the world.
+ */
+public final class HeadlessServer {
+
+	public static final String BUKKIT_VERSION = "1.19.2-R0.1-SNAPSHOT";
+
+	private static final Logger LOGGER = Logger.getLogger("Headless");
+
+	private HeadlessServer() {}
+
+	/**
+	 * Sets the server of {@link Bukkit} to a headless one if no server has been set yet.
+	 */
+	public static synchronized void install() {
+		if (Bukkit.getServer() != null)
+			return;
+		Server server = stub(Server.class);
+		Bukkit.setServer(server);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(Class<T> type) {
+		return (T) Proxy.newProxyInstance(HeadlessServer.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getLogger":
+					return LOGGER;
+				case "getName":
+					return "Headless";
+				case "getVersion":
+					return "headless (MC: 1.19.2)";
+				case "getBukkitVersion":
+					return BUKKIT_VERSION;
+				case "isPrimaryThread":
+					return true;
+				case "getPluginManager":
+					return PLUGIN_MANAGER;
+				case "getScheduler":
+					return SCHEDULER;
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "equals":
+					return proxy == args[0];
+				case "toString":
+					return type.getSimpleName() + "[headless]";
+				default:
+					return emptyValue(method.getReturnType());
+			}
+		});
+	}
+
+	private static final PluginManager PLUGIN_MANAGER = stub(PluginManager.class);
+
+	private static final BukkitScheduler SCHEDULER = stub(BukkitScheduler.class);
+
+	@Nullable
+	private static Object emptyValue(Class<?> type) {
+		if (type == boolean.class)
+			return false;
+		if (type == char.class)
+			return '\0';
+		if (type == byte.class)
+			return (byte) 0;
+		if (type == short.class)
+			return (short) 0;
+		if (type == int.class)
+			return 0;
+		if (type == long.class)
+			return 0L;
+		if (type == float.class)
+			return 0f;
+		if (type == double.class)
+			return 0d;
+		if (type == List.class || type == Collection.class || type == Iterable.class)
+			return Collections.emptyList();
+		if (type == Set.class)
+			return Collections.emptySet();
+		if (type == Map.class)
+			return Collections.emptyMap();
+		if (type.isArray())
+			return Array.newInstance(type.getComponentType(), 0);
+		return null;
+	}
+
+}
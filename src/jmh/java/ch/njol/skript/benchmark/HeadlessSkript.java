@@ -0,0 +1,172 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.classes.Comparator;
+import ch.njol.skript.config.Config;
+import ch.njol.skript.lang.util.SimpleEvent;
+import ch.njol.skript.localization.Language;
+import ch.njol.skript.registrations.Comparators;
+import ch.njol.skript.registrations.Converters;
+
+/**
+ * Starts the parts of Skript which the benchmarks need, without a server or the Skript plugin being loaded.
+ * <p>
+ * This loads the english language file, registers the Java types (objects, numbers, strings, ...),
+ * a few converters and comparators, the {@link #CORE_SYNTAX} and the syntax of {@link EffBenchmark} and {@link BenchmarkEvent},
+ * and then stops accepting registrations like Skript does after enabling.
+ * Bukkit types and the rest of Skript's syntax are not registered, as most of them need a world.
+ */
+public final class HeadlessSkript {
+
+	/**
+	 * The syntax elements of Skript which don't need a server, and can thus be used in benchmarks and benchmark scripts
+	 */
+	public static final String[] CORE_SYNTAX = {
+		"ch.njol.skript.sections.SecConditional",
+		"ch.njol.skript.sections.SecLoop",
+		"ch.njol.skript.sections.SecWhile",
+		"ch.njol.skript.effects.EffChange",
+		"ch.njol.skript.effects.EffExit",
+		"ch.njol.skript.effects.EffReturn",
+		"ch.njol.skript.conditions.CondCompare",
+		"ch.njol.skript.expressions.arithmetic.ExprArithmetic",
+		"ch.njol.skript.expressions.ExprAmount",
+		"ch.njol.skript.expressions.ExprJoinSplit",
+		"ch.njol.skript.expressions.ExprLoopValue",
+		"ch.njol.skript.expressions.ExprNumbers",
+		"ch.njol.skript.expressions.ExprTimes"
+	};
+
+	private static boolean started = false;
+
+	private HeadlessSkript() {}
+
+	/**
+	 * Starts Skript if it hasn't been started yet. Can be called by every benchmark's setup.
+	 */
+	public static synchronized void start() {
+		if (started)
+			return;
+		try {
+			HeadlessServer.install();
+			loadLanguage();
+			createInstance();
+			registerSyntax();
+			stopAcceptingRegistrations();
+		} catch (ReflectiveOperationException | IOException e) {
+			throw new IllegalStateException("Could not start Skript headlessly", e);
+		}
+		started = true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void loadLanguage() throws ReflectiveOperationException, IOException {
+		Map<String, String> english;
+		try (InputStream in = Skript.class.getResourceAsStream("/lang/english.lang")) {
+			if (in == null)
+				throw new IOException("english.lang is not on the classpath");
+			english = new Config(in, "english.lang", false, false, ":").toMap(".");
+		}
+		english.remove("version");
+		Field defaultLanguage = Language.class.getDeclaredField("defaultLanguage");
+		defaultLanguage.setAccessible(true);
+		((Map<String, String>) defaultLanguage.get(null)).putAll(english);
+	}
+
+	/**
+	 * Creates an enabled Skript instance through its constructor for use outside of a server, as the regular one needs a plugin class loader.
+	 */
+	@SuppressWarnings("deprecation")
+	private static void createInstance() throws ReflectiveOperationException, IOException {
+		// Scripts are loaded relative to the data folder
+		File folder = Files.createTempDirectory("skript-headless").toFile();
+		folder.deleteOnExit();
+		PluginDescriptionFile description = new PluginDescriptionFile("Skript", "0.0.0", Skript.class.getName());
+
+		Constructor<Skript> constructor = Skript.class.getDeclaredConstructor(JavaPluginLoader.class, PluginDescriptionFile.class, File.class, File.class);
+		constructor.setAccessible(true);
+		Skript skript = constructor.newInstance(new JavaPluginLoader(Bukkit.getServer()), description, folder, new File(folder, "Skript.jar"));
+
+		Field isEnabled = JavaPlugin.class.getDeclaredField("isEnabled");
+		isEnabled.setAccessible(true);
+		isEnabled.setBoolean(skript, true);
+	}
+
+	private static void registerSyntax() throws ClassNotFoundException {
+		ClassLoader loader = HeadlessSkript.class.getClassLoader();
+		Class.forName("ch.njol.skript.classes.data.JavaClasses", true, loader);
+		for (String syntax : CORE_SYNTAX)
+			Class.forName(syntax, true, loader);
+
+		Converters.registerConverter(Integer.class, Long.class, Integer::longValue);
+		Converters.registerConverter(Long.class, Double.class, Long::doubleValue);
+		Converters.registerConverter(Number.class, String.class, Object::toString);
+
+		Comparators.registerComparator(Number.class, Number.class, new Comparator<Number, Number>() {
+			@Override
+			public Relation compare(Number n1, Number n2) {
+				if (n1 instanceof Long && n2 instanceof Long)
+					return Relation.get(Long.compare(n1.longValue(), n2.longValue()));
+				return Relation.get(n1.doubleValue() - n2.doubleValue());
+			}
+
+			@Override
+			public boolean supportsOrdering() {
+				return true;
+			}
+		});
+		Comparators.registerComparator(String.class, String.class, new Comparator<String, String>() {
+			@Override
+			public Relation compare(String s1, String s2) {
+				return Relation.get(s1.compareToIgnoreCase(s2));
+			}
+
+			@Override
+			public boolean supportsOrdering() {
+				return true;
+			}
+		});
+
+		Skript.registerEffect(EffBenchmark.class, "benchmark %objects%");
+		Skript.registerEvent("Benchmark", SimpleEvent.class, BenchmarkEvent.class, "benchmark [event]");
+	}
+
+	private static void stopAcceptingRegistrations() throws ReflectiveOperationException {
+		Method stop = Skript.class.getDeclaredMethod("stopAcceptingRegistrations");
+		stop.setAccessible(true);
+		stop.invoke(null);
+	}
+
+}
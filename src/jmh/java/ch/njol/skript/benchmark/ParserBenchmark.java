@@ -0,0 +1,64 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.lang.Statement;
+
+/**
+ * Parsing statements and expressions with the {@link SkriptParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserBenchmark {
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+	}
+
+	@Benchmark
+	public Statement parseStatement() {
+		return Statement.parse("benchmark {_x}, 5 and \"text %{_y}%\"", "Can't understand this statement");
+	}
+
+	@Benchmark
+	public Expression<?> parseList() {
+		return new SkriptParser("1, 2, 3 and 4", SkriptParser.ALL_FLAGS, ParseContext.DEFAULT).parseExpression(Object.class);
+	}
+
+	@Benchmark
+	public Expression<?> parseVariable() {
+		return new SkriptParser("{_list::%{_index}%}", SkriptParser.ALL_FLAGS, ParseContext.DEFAULT).parseExpression(Object.class);
+	}
+
+}
@@ -0,0 +1,77 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.patterns.MatchResult;
+import ch.njol.skript.patterns.PatternCompiler;
+import ch.njol.skript.patterns.SkriptPattern;
+
+/**
+ * Compiling and matching {@link SkriptPattern}s, with and without expressions in them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PatternBenchmark {
+
+	private static final String LITERAL_PATTERN = "[the] (first|last|random) [element] [out] of [the] list";
+	private static final String EXPRESSION_PATTERN = "(add|give) %objects% to %~objects%";
+
+	private SkriptPattern literal;
+	private SkriptPattern expression;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		literal = PatternCompiler.compile(LITERAL_PATTERN);
+		expression = PatternCompiler.compile(EXPRESSION_PATTERN);
+	}
+
+	@Benchmark
+	public SkriptPattern compile() {
+		return PatternCompiler.compile(EXPRESSION_PATTERN);
+	}
+
+	@Benchmark
+	public MatchResult matchLiteral() {
+		return literal.match("the last element out of the list");
+	}
+
+	@Benchmark
+	public MatchResult matchExpressions() {
+		return expression.match("add 1, 2 and 3 to {_list::*}");
+	}
+
+	@Benchmark
+	public MatchResult matchFailure() {
+		// rejected by the keyword shortcut
+		return expression.match("remove 1, 2 and 3 from {_list::*}");
+	}
+
+}
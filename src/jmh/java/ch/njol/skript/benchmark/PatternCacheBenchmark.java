@@ -0,0 +1,100 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.patterns.PatternCache;
+import ch.njol.skript.patterns.PatternCompiler;
+
+/**
+ * Repeatedly parsing text with patterns that are only known at runtime,
+ * through the {@link PatternCache} and by compiling the pattern on every call like before it existed.
+ * With more distinct patterns than {@link PatternCache#MAX_SIZE} the cache is constantly evicting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PatternCacheBenchmark {
+
+	@Param({"1", "64", "1024"})
+	public int patterns;
+
+	private String[] skriptPatterns;
+	private String[] texts;
+	private String[] regexes;
+	private int next;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		PatternCache.clear();
+		skriptPatterns = new String[patterns];
+		texts = new String[patterns];
+		regexes = new String[patterns];
+		for (int i = 0; i < patterns; i++) {
+			skriptPatterns[i] = "(give|send) %number% [item[s]] to player" + i;
+			texts[i] = "give 5 items to player" + i;
+			regexes[i] = "player" + i + "[0-9]+";
+		}
+	}
+
+	private int next() {
+		int i = next;
+		next = i + 1 == patterns ? 0 : i + 1;
+		return i;
+	}
+
+	@Benchmark
+	public ParseResult parseCached() {
+		int i = next();
+		return SkriptParser.parse(texts[i], skriptPatterns[i]);
+	}
+
+	@Benchmark
+	public ParseResult parseCompiled() {
+		int i = next();
+		return SkriptParser.parse(texts[i], PatternCompiler.compile(skriptPatterns[i]));
+	}
+
+	@Benchmark
+	public boolean regexCached() {
+		int i = next();
+		return PatternCache.getRegex(regexes[i]).matcher("player12345").matches();
+	}
+
+	@Benchmark
+	public boolean regexCompiled() {
+		int i = next();
+		return Pattern.compile(regexes[i]).matcher("player12345").matches();
+	}
+
+}
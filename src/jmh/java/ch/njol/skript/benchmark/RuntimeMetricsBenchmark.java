@@ -0,0 +1,98 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import ch.njol.skript.lang.Statement;
+import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.lang.util.SimpleEvent;
+import ch.njol.skript.timings.RuntimeMetrics;
+import ch.njol.skript.variables.HeadlessVariables;
+import ch.njol.skript.variables.Variables;
+
+/**
+ * The overhead of {@link RuntimeMetrics} on executing a trigger and on recording single samples,
+ * with the metrics enabled and disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RuntimeMetricsBenchmark {
+
+	@Param({"false", "true"})
+	public boolean enabled;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+
+	@SuppressWarnings("null")
+	private Trigger trigger;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		HeadlessVariables.startDiscardingSaves();
+		Variables.setVariable("x", 1L, null, false);
+		Statement statement = Statement.parse("benchmark {x}, {_x} and 1", "Can't understand this statement");
+		if (statement == null)
+			throw new IllegalStateException("Could not parse the benchmark statement");
+		trigger = new Trigger(null, "metrics benchmark", new SimpleEvent(), Collections.singletonList(statement));
+		RuntimeMetrics.setEnabled(enabled);
+	}
+
+	@TearDown
+	public void tearDown() {
+		RuntimeMetrics.setEnabled(false);
+	}
+
+	/**
+	 * Records the trigger's duration and the read of <tt>{x}</tt> if enabled
+	 */
+	@Benchmark
+	public boolean executeTrigger() {
+		return trigger.execute(event);
+	}
+
+	@Benchmark
+	public void incrementCounter() {
+		RuntimeMetrics.VARIABLE_READS.increment();
+	}
+
+	@Benchmark
+	public void incrementLabeledCounter() {
+		RuntimeMetrics.FUNCTION_CALLS.increment("benchmark");
+	}
+
+	@Benchmark
+	public void observeLabeledHistogram() {
+		RuntimeMetrics.recordTrigger(event, 1_000);
+	}
+
+}
@@ -0,0 +1,263 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+
+import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.ScriptLoader.ScriptInfo;
+import ch.njol.skript.SkriptEventHandler.PriorityListener;
+import ch.njol.skript.config.Config;
+import ch.njol.skript.log.RetainingLogHandler;
+import ch.njol.skript.variables.HeadlessVariables;
+
+/**
+ * Measures how fast scripts handle events, without a Minecraft server.
+ * <p>
+ * The given scripts are loaded through the {@link ScriptLoader}, and then {@link BenchmarkEvent}s are passed to
+ * Skript's event listener like Bukkit would, either as fast as possible or at a target rate.
+ * Afterwards, the events and triggers per second, the allocation rate of the event thread and the latency percentiles are reported.
+ * Latencies are measured from the time an event was due, so falling behind the target rate shows up as latency.
+ * <p>
+ * Only the syntax of {@link HeadlessSkript} can be used in the scripts, and every trigger should be an <code>on benchmark</code> trigger,
+ * as the triggers per second are calculated from the amount of loaded triggers.
+ * <p>
+ * Usage: <code>ScriptBenchmark &lt;script files or folders&gt;... [--rate=&lt;events per second&gt;] [--warmup=&lt;seconds&gt;]
+ * [--duration=&lt;seconds&gt;] [--output=&lt;json file&gt;]</code>
+ */
+public final class ScriptBenchmark {
+
+	private ScriptBenchmark() {}
+
+	public static void main(String[] args) throws IOException, EventException {
+		List<File> scripts = new ArrayList<>();
+		int rate = 0;
+		int warmup = 5, duration = 10;
+		File output = null;
+		for (String arg : args) {
+			if (arg.startsWith("--rate=")) {
+				rate = Integer.parseInt(arg.substring("--rate=".length()));
+			} else if (arg.startsWith("--warmup=")) {
+				warmup = Integer.parseInt(arg.substring("--warmup=".length()));
+			} else if (arg.startsWith("--duration=")) {
+				duration = Integer.parseInt(arg.substring("--duration=".length()));
+			} else if (arg.startsWith("--output=")) {
+				output = new File(arg.substring("--output=".length()));
+			} else {
+				addScripts(new File(arg), scripts);
+			}
+		}
+		if (scripts.isEmpty())
+			throw new IllegalArgumentException("No scripts given");
+
+		HeadlessSkript.start();
+		HeadlessVariables.startDiscardingSaves();
+		int triggers = loadScripts(scripts);
+		System.out.println("Loaded " + scripts.size() + " scripts with " + triggers + " triggers");
+
+		PriorityListener listener = new PriorityListener(EventPriority.NORMAL);
+		run(listener, rate, TimeUnit.SECONDS.toNanos(warmup));
+		Result result = run(listener, rate, TimeUnit.SECONDS.toNanos(duration));
+
+		String report = result.toJson(rate, triggers);
+		System.out.println(report);
+		if (output != null) {
+			File parent = output.getAbsoluteFile().getParentFile();
+			if (parent != null)
+				Files.createDirectories(parent.toPath());
+			Files.write(output.toPath(), report.getBytes(StandardCharsets.UTF_8));
+		}
+		System.exit(0); // Skript's threads are not all daemons
+	}
+
+	private static void addScripts(File file, List<File> scripts) {
+		if (file.isDirectory()) {
+			File[] files = file.listFiles();
+			if (files == null)
+				return;
+			Arrays.sort(files);
+			for (File f : files)
+				addScripts(f, scripts);
+		} else if (file.getName().endsWith(".sk") && !file.getName().startsWith("-")) {
+			scripts.add(file);
+		}
+	}
+
+	/**
+	 * @return The amount of loaded triggers
+	 */
+	private static int loadScripts(List<File> scripts) throws IOException {
+		List<Config> configs = new ArrayList<>();
+		for (File script : scripts) {
+			try (InputStream in = new FileInputStream(script)) {
+				Config config = ScriptLoader.loadStructure(in, script.getName());
+				if (config == null)
+					throw new IOException("Could not load " + script);
+				configs.add(config);
+			}
+		}
+
+		RetainingLogHandler log = new RetainingLogHandler();
+		ScriptInfo info = ScriptLoader.loadScripts(configs, log).join();
+		if (log.hasErrors()) {
+			log.printLog();
+			throw new IllegalStateException("The benchmark scripts have errors");
+		}
+		return info.triggers;
+	}
+
+	private static Result run(PriorityListener listener, int rate, long nanos) throws EventException {
+		long period = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+		LatencyHistogram latencies = new LatencyHistogram();
+		long allocated = allocatedBytes();
+		long start = System.nanoTime();
+		long end = start + nanos;
+		long due = start;
+		long now;
+		while ((now = System.nanoTime()) < end) {
+			if (period == 0) {
+				due = now;
+			} else if (due > now) {
+				LockSupport.parkNanos(due - now);
+				continue;
+			}
+			listener.executor.execute(listener, new BenchmarkEvent());
+			latencies.record(System.nanoTime() - due);
+			due += period;
+		}
+		long elapsed = System.nanoTime() - start;
+		allocated = allocated == -1 ? -1 : allocatedBytes() - allocated;
+		return new Result(latencies, elapsed, allocated);
+	}
+
+	/**
+	 * @return The amount of bytes the current thread has allocated so far, or -1 if the JVM can't measure it
+	 */
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean))
+			return -1;
+		return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static final class Result {
+
+		final LatencyHistogram latencies;
+		final long nanos;
+		final long allocated;
+
+		Result(LatencyHistogram latencies, long nanos, long allocated) {
+			this.latencies = latencies;
+			this.nanos = nanos;
+			this.allocated = allocated;
+		}
+
+		String toJson(int rate, int triggers) {
+			double seconds = nanos / 1e9;
+			double events = latencies.count / seconds;
+			return String.format(Locale.ENGLISH, "{\n"
+					+ "\t\"targetRate\": %d,\n"
+					+ "\t\"events\": %d,\n"
+					+ "\t\"seconds\": %.3f,\n"
+					+ "\t\"eventsPerSecond\": %.1f,\n"
+					+ "\t\"triggersPerSecond\": %.1f,\n"
+					+ "\t\"allocatedBytesPerSecond\": %.0f,\n"
+					+ "\t\"allocatedBytesPerEvent\": %.1f,\n"
+					+ "\t\"latencyMicros\": {\"p50\": %.3f, \"p90\": %.3f, \"p99\": %.3f, \"p999\": %.3f, \"max\": %.3f}\n"
+					+ "}",
+				rate, latencies.count, seconds, events, events * triggers,
+				allocated == -1 ? -1 : allocated / seconds,
+				allocated == -1 || latencies.count == 0 ? -1 : (double) allocated / latencies.count,
+				latencies.percentile(0.5) / 1e3, latencies.percentile(0.9) / 1e3, latencies.percentile(0.99) / 1e3,
+				latencies.percentile(0.999) / 1e3, latencies.max / 1e3);
+		}
+
+	}
+
+	/**
+	 * A histogram of nanosecond values with logarithmic buckets, each split into {@link #SUB_BUCKETS} linear ones,
+	 * so that percentiles are precise to about 3% without storing every value or allocating while recording.
+	 */
+	private static final class LatencyHistogram {
+
+		private static final int SUB_BUCKET_BITS = 5;
+		private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+		private final long[] counts = new long[64 * SUB_BUCKETS];
+		long count = 0;
+		long max = 0;
+
+		void record(long nanos) {
+			if (nanos < 0)
+				nanos = 0;
+			counts[index(nanos)]++;
+			count++;
+			if (nanos > max)
+				max = nanos;
+		}
+
+		/**
+		 * @return The value at the given percentile (0 to 1), rounded up to the end of its bucket
+		 */
+		long percentile(double percentile) {
+			long target = Math.max(1, (long) Math.ceil(count * percentile));
+			long seen = 0;
+			for (int i = 0; i < counts.length; i++) {
+				seen += counts[i];
+				if (seen >= target)
+					return Math.min(highestValue(i), max);
+			}
+			return max;
+		}
+
+		private static int index(long value) {
+			if (value < SUB_BUCKETS)
+				return (int) value;
+			int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+			int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+			return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+		}
+
+		private static long highestValue(int index) {
+			int bucket = index >>> SUB_BUCKET_BITS;
+			if (bucket == 0)
+				return index;
+			int shift = bucket - 1;
+			long lowest = (long) (SUB_BUCKETS | (index & (SUB_BUCKETS - 1))) << shift;
+			return lowest + (1L << shift) - 1;
+		}
+
+	}
+
+}
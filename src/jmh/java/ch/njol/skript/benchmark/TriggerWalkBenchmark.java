@@ -0,0 +1,94 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import ch.njol.skript.lang.Statement;
+import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.variables.Variables;
+
+/**
+ * Running synthetic triggers with {@link TriggerItem#walk(TriggerItem, org.bukkit.event.Event)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TriggerWalkBenchmark {
+
+	@Param({"1", "10", "100"})
+	public int length;
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+
+	@SuppressWarnings("null")
+	private TriggerItem literals, variables;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		Variables.setVariable("x", 1L, event, true);
+		Variables.setVariable("list::1", "a", event, true);
+		Variables.setVariable("list::2", "b", event, true);
+		literals = chain("benchmark 1, 2 and 3");
+		variables = chain("benchmark {_x} and {_list::*}");
+	}
+
+	@TearDown
+	public void tearDown() {
+		Variables.removeLocals(event);
+	}
+
+	private TriggerItem chain(String statement) {
+		TriggerItem first = null, last = null;
+		for (int i = 0; i < length; i++) {
+			Statement item = Statement.parse(statement, "Can't understand this statement");
+			if (item == null)
+				throw new IllegalStateException("Could not parse " + statement);
+			if (last == null)
+				first = item;
+			else
+				last.setNext(item);
+			last = item;
+		}
+		assert first != null;
+		return first;
+	}
+
+	@Benchmark
+	public boolean walkLiterals() {
+		return TriggerItem.walk(literals, event);
+	}
+
+	@Benchmark
+	public boolean walkVariables() {
+		return TriggerItem.walk(variables, event);
+	}
+
+}
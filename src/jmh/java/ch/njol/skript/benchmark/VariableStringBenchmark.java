@@ -0,0 +1,90 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import ch.njol.skript.lang.VariableString;
+import ch.njol.skript.variables.Variables;
+
+/**
+ * Rendering {@link VariableString}s to plain text and to chat components.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariableStringBenchmark {
+
+	private final BenchmarkEvent event = new BenchmarkEvent();
+
+	@SuppressWarnings("null")
+	private VariableString simple, variables, formatted;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		Variables.setVariable("name", "Njol", event, true);
+		Variables.setVariable("points", 42L, event, true);
+		simple = parse("Hello world");
+		variables = parse("Hello %{_name}%, you have %{_points}% points");
+		formatted = parse("<gold>Hello <bold>%{_name}%<reset>, you have <green>%{_points}% points");
+	}
+
+	@TearDown
+	public void tearDown() {
+		Variables.removeLocals(event);
+	}
+
+	private static VariableString parse(String s) {
+		VariableString string = VariableString.newInstance(s);
+		if (string == null)
+			throw new IllegalStateException("Could not parse " + s);
+		return string;
+	}
+
+	@Benchmark
+	public String renderSimple() {
+		return simple.toString(event);
+	}
+
+	@Benchmark
+	public String renderVariables() {
+		return variables.toString(event);
+	}
+
+	@Benchmark
+	public String renderFormatted() {
+		return formatted.toString(event);
+	}
+
+	@Benchmark
+	public String renderChat() {
+		return formatted.toChatString(event);
+	}
+
+}
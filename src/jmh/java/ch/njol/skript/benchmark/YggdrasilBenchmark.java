@@ -0,0 +1,125 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.variables.SerializedVariable;
+import ch.njol.yggdrasil.Yggdrasil;
+import ch.njol.yggdrasil.YggdrasilID;
+import ch.njol.yggdrasil.YggdrasilInputStream;
+import ch.njol.yggdrasil.YggdrasilOutputStream;
+import ch.njol.yggdrasil.YggdrasilSerializable;
+
+/**
+ * Serialising and deserialising objects with {@link Yggdrasil}, both directly and through {@link Classes} as variables are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class YggdrasilBenchmark {
+
+	@YggdrasilID("BenchmarkRecord")
+	public static final class Record implements YggdrasilSerializable {
+
+		String name = "";
+		long id;
+		double score;
+		UUID owner = new UUID(0, 0);
+		ArrayList<String> tags = new ArrayList<>();
+
+		public Record() {}
+
+		Record(int i) {
+			name = "record " + i;
+			id = i;
+			score = i * 1.5;
+			owner = new UUID(i, -i);
+			tags.addAll(Arrays.asList("tag" + i % 7, "tag" + i % 13));
+		}
+
+	}
+
+	@Param({"1", "100"})
+	public int records;
+
+	private final Yggdrasil yggdrasil = new Yggdrasil();
+
+	@SuppressWarnings("null")
+	private ArrayList<Record> value;
+	@SuppressWarnings("null")
+	private byte[] serialized;
+	@SuppressWarnings("null")
+	private SerializedVariable.Value serializedNumber;
+
+	@Setup
+	public void setup() throws IOException {
+		HeadlessSkript.start();
+		yggdrasil.registerSingleClass(Record.class);
+		value = new ArrayList<>();
+		for (int i = 0; i < records; i++)
+			value.add(new Record(i));
+		serialized = serialize();
+		serializedNumber = Classes.serialize(12345L);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (YggdrasilOutputStream yout = yggdrasil.newOutputStream(out)) {
+			yout.writeObject(value);
+		}
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public List<?> deserialize() throws IOException {
+		try (YggdrasilInputStream yin = yggdrasil.newInputStream(new ByteArrayInputStream(serialized))) {
+			return yin.readObject(ArrayList.class);
+		}
+	}
+
+	@Benchmark
+	public SerializedVariable.Value serializeVariable() {
+		return Classes.serialize(12345L);
+	}
+
+	@Benchmark
+	public Object deserializeVariable() {
+		return Classes.deserialize(serializedNumber.type, serializedNumber.data);
+	}
+
+}
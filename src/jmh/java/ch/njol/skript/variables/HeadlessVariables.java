@@ -0,0 +1,58 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.concurrent.ExecutionException;
+
+import ch.njol.skript.Skript;
+
+/**
+ * Takes the place of the variable storages when benchmarking scripts headlessly.
+ * In this package as the save queue isn't public.
+ */
+public final class HeadlessVariables {
+
+	private static boolean started = false;
+
+	private HeadlessVariables() {}
+
+	/**
+	 * Starts a thread which waits for every changed global variable to be serialised like it would be for saving,
+	 * and then discards it. Without this, the save queue would grow for as long as the benchmark runs.
+	 */
+	public static synchronized void startDiscardingSaves() {
+		if (started)
+			return;
+		Thread thread = Skript.newThread(() -> {
+			while (true) {
+				try {
+					Variables.saveQueue.take().get();
+				} catch (InterruptedException e) {
+					return;
+				} catch (ExecutionException e) {
+					// already reported when serialising
+				}
+			}
+		}, "Skript headless variable saver");
+		thread.setDaemon(true);
+		thread.start();
+		started = true;
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.benchmark.HeadlessSkript;
+
+/**
+ * Copying a global list variable element by element, like <tt>set {list::*} to {other::*}</tt> did,
+ * and with a single {@link Variables#setListVariable(String, boolean, Map, org.bukkit.event.Event, boolean) bulk change}.
+ * Both include serialising the values for saving.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListVariableBenchmark {
+
+	@Param({"1000", "50000"})
+	public int size;
+
+	@SuppressWarnings("null")
+	private Map<String, Object> elements;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		HeadlessVariables.startDiscardingSaves();
+		elements = new LinkedHashMap<>();
+		for (int i = 1; i <= size; i++)
+			elements.put("" + i, (long) i);
+	}
+
+	@Benchmark
+	public void copyElementByElement() {
+		Variables.setVariable("benchmark list::*", null, null, false);
+		for (Map.Entry<String, Object> element : elements.entrySet())
+			Variables.setVariable("benchmark list::" + element.getKey(), element.getValue(), null, false);
+	}
+
+	@Benchmark
+	public void copyAtOnce() {
+		Variables.setListVariable("benchmark list::*", true, elements, null, false);
+	}
+
+}
@@ -0,0 +1,190 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.util.Utils;
+import ch.njol.util.StringUtils;
+
+/**
+ * Looking up and inserting list indices with {@link VariablesMap#variableNameComparator}
+ * and with the previous implementation of it, which parsed substrings.
+ * <p>
+ * The setup also checks that both comparators order random names the same way,
+ * which can be done without running the benchmark by running {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariableNameComparatorBenchmark {
+
+	/**
+	 * The comparator as it was before it parsed numbers in place.
+	 */
+	final static Comparator<String> LEGACY_COMPARATOR = new Comparator<String>() {
+		@Override
+		public int compare(@Nullable String s1, @Nullable String s2) {
+			if (s1 == null)
+				return s2 == null ? 0 : -1;
+
+			if (s2 == null)
+				return 1;
+
+			int i = 0;
+			int j = 0;
+
+			boolean lastNumberNegative = false;
+			while (i < s1.length() && j < s2.length()) {
+				char c1 = s1.charAt(i);
+				char c2 = s2.charAt(j);
+
+				if ('0' <= c1 && c1 <= '9' && '0' <= c2 && c2 <= '9') {
+					int i2 = StringUtils.findLastDigit(s1, i);
+					int j2 = StringUtils.findLastDigit(s2, j);
+
+					long n1 = Utils.parseLong("" + s1.substring(i, i2));
+					long n2 = Utils.parseLong("" + s2.substring(j, j2));
+
+					boolean previousNegative = lastNumberNegative;
+
+					lastNumberNegative = i > 0 && s1.charAt(i - 1) == '-';
+					int isPositive = (lastNumberNegative | previousNegative) ? -1 : 1;
+
+					if (n1 > n2)
+						return isPositive;
+
+					if (n1 < n2)
+						return -1 * isPositive;
+
+					if (i2 - i > j2 - j)
+						return -1;
+					if (i2 - i < j2 - j)
+						return 1;
+
+					i = i2;
+					j = j2;
+				} else {
+					if (c1 > c2)
+						return 1;
+					if (c1 < c2)
+						return -1;
+					if (c1 != '.')
+						lastNumberNegative = false;
+					i++;
+					j++;
+				}
+			}
+			if (i < s1.length())
+				return lastNumberNegative ? -1 : 1;
+			if (j < s2.length())
+				return lastNumberNegative ? 1 : -1;
+			return 0;
+		}
+	};
+
+	private final static String CHARACTERS = "0123456789-.:ab ";
+
+	@Param({"1000", "1000000"})
+	public int size;
+
+	@Param({"current", "legacy"})
+	public String comparator;
+
+	@SuppressWarnings("null")
+	private TreeMap<String, Object> list;
+
+	@SuppressWarnings("null")
+	private String[] keys;
+
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		checkOrder(new Random(1), 1_000_000);
+		list = new TreeMap<>(comparator.equals("legacy") ? LEGACY_COMPARATOR : VariablesMap.variableNameComparator);
+		keys = new String[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = "" + (i + 1);
+			list.put(keys[i], (long) i);
+		}
+	}
+
+	@Benchmark
+	public Object get() {
+		next = (next + 7919) % size;
+		return list.get(keys[next]);
+	}
+
+	@Benchmark
+	public Object putAndRemove() {
+		list.put("0.5", 0L);
+		return list.remove("0.5");
+	}
+
+	/**
+	 * Compares random pairs of names with both comparators.
+	 * 
+	 * @throws IllegalStateException If the comparators disagree on a pair.
+	 */
+	static void checkOrder(Random random, int pairs) {
+		for (int i = 0; i < pairs; i++) {
+			String s1 = randomName(random), s2 = randomName(random);
+			if (i % 4 == 0) // shares a prefix, so that the comparison gets past the first character
+				s2 = s1.substring(0, random.nextInt(s1.length() + 1)) + s2;
+			int expected = Integer.signum(LEGACY_COMPARATOR.compare(s1, s2));
+			int actual = Integer.signum(VariablesMap.variableNameComparator.compare(s1, s2));
+			if (expected != actual)
+				throw new IllegalStateException("'" + s1 + "' compared to '" + s2 + "' is " + actual + " instead of " + expected);
+		}
+		if (VariablesMap.variableNameComparator.compare(null, "1") >= 0 || VariablesMap.variableNameComparator.compare(null, null) != 0)
+			throw new IllegalStateException("The value of a list must be ordered first");
+	}
+
+	private static String randomName(Random random) {
+		StringBuilder name = new StringBuilder();
+		int length = random.nextInt(12);
+		for (int i = 0; i < length; i++) {
+			if (random.nextInt(20) == 0) // longer than a long can hold
+				name.append(Long.MAX_VALUE).append(random.nextInt(10));
+			else
+				name.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+		}
+		return name.toString();
+	}
+
+	public static void main(String[] args) {
+		checkOrder(new Random(), 10_000_000);
+		System.out.println("The variable name comparator orders all names like the legacy one");
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ch.njol.skript.benchmark.HeadlessSkript;
+
+/**
+ * Time spent on the calling thread per write of a global variable. <tt>serializeOnCallingThread</tt> does what
+ * {@link Variables#setVariable(String, Object, org.bukkit.event.Event, boolean)} did before variables were serialised
+ * by a worker pool: serialising the value while holding the variables lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariableWriteBenchmark {
+
+	@Param({"number", "text"})
+	public String type;
+
+	@SuppressWarnings("null")
+	private Object value;
+
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		HeadlessVariables.startDiscardingSaves();
+		value = type.equals("number") ? (Object) 12345L : "a text which is saved in a variable";
+	}
+
+	@Benchmark
+	public void serializeOnWorkerPool() {
+		next = (next + 1) & 1023;
+		Variables.setVariable("benchmark write::" + next, value, null, false);
+	}
+
+	@Benchmark
+	public void serializeOnCallingThread() {
+		next = (next + 1) & 1023;
+		String name = "benchmark write::" + next;
+		Variables.variablesLock.writeLock().lock();
+		try {
+			Variables.variables.setVariable(name, value);
+			Variables.saveQueue.add(CompletableFuture.completedFuture(Variables.serialize(name, value)));
+		} finally {
+			Variables.variablesLock.writeLock().unlock();
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ch.njol.skript.benchmark.HeadlessSkript;
+
+/**
+ * Getting, setting and iterating variables in a {@link VariablesMap}.
+ * In this package as the map isn't public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VariablesMapBenchmark {
+
+	@Param({"10", "1000"})
+	public int size;
+
+	@SuppressWarnings("null")
+	private VariablesMap map;
+
+	private int next = 0;
+
+	@Setup
+	public void setup() {
+		HeadlessSkript.start();
+		map = new VariablesMap();
+		for (int i = 1; i <= size; i++) {
+			map.setVariable("numbers::" + i, (long) i);
+			map.setVariable("players::" + new UUID(i, i) + "::balance", i * 10.0);
+			map.setVariable("single " + i, i);
+		}
+	}
+
+	@Benchmark
+	public Object get() {
+		return map.getVariable("single " + (size / 2));
+	}
+
+	@Benchmark
+	public Object getListElement() {
+		return map.getVariable("numbers::" + (size / 2));
+	}
+
+	@Benchmark
+	public Object getList() {
+		return map.getVariable("numbers::*");
+	}
+
+	@Benchmark
+	public void setListElement() {
+		next = next % size + 1;
+		map.setVariable("numbers::" + next, (long) next);
+	}
+
+	@Benchmark
+	public void addAndDeleteListElement() {
+		map.setVariable("numbers::" + (size + 1), 0L);
+		map.setVariable("numbers::" + (size + 1), null);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public void iterateList(Blackhole blackhole) {
+		Object list = map.getVariable("numbers::*");
+		assert list != null;
+		for (Map.Entry<String, Object> entry : ((Map<String, Object>) list).entrySet()) {
+			blackhole.consume(entry.getKey());
+			blackhole.consume(entry.getValue());
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.njol.skript.benchmark.HeadlessSkript;
+
+/**
+ * Heap retained by a {@link VariablesMap} holding lists of numbers, reported as the <tt>retainedBytes</tt> counter.
+ * The <tt>sparse</tt> lists are filled backwards, so they are stored as a TreeMap instead of a {@link DenseNumberList}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class VariablesMemoryBenchmark {
+
+	@Param({"100", "10000"})
+	public int lists;
+
+	@Param({"100"})
+	public int elements;
+
+	@Param({"dense", "sparse"})
+	public String layout;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Retained {
+
+		public long retainedBytes;
+
+	}
+
+	@SuppressWarnings("null")
+	private VariablesMap map;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		HeadlessSkript.start();
+		map = new VariablesMap();
+	}
+
+	@Benchmark
+	public VariablesMap fill(Retained retained) {
+		long before = usedMemory();
+		boolean dense = layout.equals("dense");
+		for (int list = 0; list < lists; list++) {
+			for (int i = 1; i <= elements; i++) {
+				int index = dense ? i : elements + 1 - i;
+				map.setVariable("list " + list + "::" + index, (long) index);
+			}
+		}
+		retained.retainedBytes = usedMemory() - before;
+		return map;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -110,12 +110,13 @@ public class ScriptLoader {
 		new PluralizingArgsMessage("skript.scripts loaded");
 	
 	/**
-	 * Clears triggers, commands, functions and variable names
+	 * Clears triggers, commands, functions, variable names and sorted list indices
 	 */
 	static void disableScripts() {
 		SkriptEventHandler.removeAllTriggers();
 		Commands.clearCommands();
 		Functions.clearFunctions();
+		Variables.removeSortedListIndices();
 	}
 	
 	/**
@@ -716,7 +717,7 @@ public class ScriptLoader {
 						getParser().deleteCurrentEvent();
 						
 						continue;
-					} else if (event.toLowerCase(Locale.ENGLISH).startsWith("function ")) {
+					} else if (Functions.isFunctionDefinition(event)) {
 						
 						getParser().setCurrentEvent("function", FunctionEvent.class);
 						
@@ -968,7 +969,7 @@ public class ScriptLoader {
 				if (!SkriptParser.validateLine(event))
 					continue;
 				
-				if (event.toLowerCase(Locale.ENGLISH).startsWith("function ")) {
+				if (Functions.isFunctionDefinition(event)) {
 					
 					getParser().setCurrentEvent("function", FunctionEvent.class);
 					
@@ -1039,6 +1040,10 @@ public class ScriptLoader {
 			assert name != null;
 			Functions.clearFunctions(name);
 			
+			// Stop maintaining sorted list indices only this script used
+			// If reloading, they are added again while the new version is loaded
+			Variables.removeSortedListIndices(script);
+			
 			return info; // Return how much we unloaded
 		}
 		
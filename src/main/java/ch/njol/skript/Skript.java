@@ -71,6 +71,7 @@ import org.bukkit.event.server.ServerCommandEvent;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
 import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.gson.Gson;
@@ -201,6 +202,17 @@ public final class Skript extends JavaPlugin implements Listener {
 		instance = this;
 	}
 	
+	/**
+	 * Creates Skript without a plugin class loader, e.g. for benchmarks. Bukkit doesn't allow this while running as a plugin.
+	 */
+	@SuppressWarnings("unused") // Used reflectively
+	Skript(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) throws IllegalStateException {
+		super(loader, description, dataFolder, file);
+		if (instance != null)
+			throw new IllegalStateException("Cannot create multiple instances of Skript!");
+		instance = this;
+	}
+	
 	private static Version minecraftVersion = new Version(666), UNKNOWN_VERSION = new Version(666);
 	private static ServerPlatform serverPlatform = ServerPlatform.BUKKIT_UNKNOWN; // Start with unknown... onLoad changes this
 
@@ -576,7 +588,7 @@ public final class Skript extends JavaPlugin implements Listener {
 					public LogResult log(final LogEntry entry) {
 						super.log(entry);
 						if (entry.level.intValue() >= Level.SEVERE.intValue()) {
-							logEx(entry.message); // no [Skript] prefix
+							logEx(entry.getMessage()); // no [Skript] prefix
 							return LogResult.DO_NOT_LOG;
 						} else {
 							return LogResult.LOG;
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -46,6 +47,7 @@ import ch.njol.skript.log.TimingLogHandler;
 import ch.njol.skript.tests.runner.SkriptTestEvent;
 import ch.njol.skript.tests.runner.TestMode;
 import ch.njol.skript.tests.runner.TestTracker;
+import ch.njol.skript.timings.RuntimeMetrics;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.SkriptColor;
@@ -77,6 +79,7 @@ public class SkriptCommand implements CommandExecutor {
 			.add("changes")
 			.add("download")
 		).add("info"
+		).add("metrics"
 		).add("help");
 	
 	static {
@@ -349,6 +352,13 @@ public class SkriptCommand implements CommandExecutor {
 						Skript.info(sender, " - " + plugin.getName() + " v" + ver);
 					}
 				}
+			} else if (args[0].equalsIgnoreCase("metrics")) {
+				if (!RuntimeMetrics.isEnabled()) {
+					info(sender, "metrics.disabled");
+					return true;
+				}
+				for (Map.Entry<String, Number> metric : RuntimeMetrics.getValues().entrySet())
+					Skript.info(sender, metric.getKey() + ": " + metric.getValue());
 			} else if (args[0].equalsIgnoreCase("help")) {
 				skriptCommandHelp.showHelp(sender);
 			} else if (args[0].equalsIgnoreCase("gen-docs")) {
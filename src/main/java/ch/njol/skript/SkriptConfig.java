@@ -33,6 +33,7 @@ import ch.njol.skript.lang.function.Function;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.log.Verbosity;
+import ch.njol.skript.timings.RuntimeMetrics;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.update.ReleaseChannel;
 import ch.njol.skript.util.FileUtils;
@@ -267,6 +268,23 @@ public class SkriptConfig {
 
 	public static final Option<Boolean> keepLastUsageDates = new Option<>("keep command last usage dates", false)
 			.optional(true);
+
+	public static final Option<Boolean> maintainSortedListIndices = new Option<>("maintain sorted list indices", false)
+			.optional(true);
+	
+	public static final Option<Timespan> schedulerTickBudget = new Option<>("scheduler time budget per tick", new Timespan(0))
+			.optional(true);
+	
+	public static final Option<Boolean> spreadPeriodicalEvents = new Option<>("spread periodical events", false)
+			.optional(true);
+	
+	public static final Option<Boolean> runtimeMetrics = new Option<>("runtime metrics", false)
+			.setter(RuntimeMetrics::setEnabled)
+			.optional(true);
+	
+	public static final Option<Timespan> runtimeMetricsExportInterval = new Option<>("runtime metrics export interval", new Timespan(0))
+			.setter(RuntimeMetrics::setExportInterval)
+			.optional(true);
 	
 	public static final Option<Boolean> loadDefaultAliases = new Option<>("load default aliases", true)
 			.optional(true);
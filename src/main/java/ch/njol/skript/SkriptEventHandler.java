@@ -43,13 +43,17 @@ import org.eclipse.jdt.annotation.Nullable;
 import java.io.File;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Peter Güttinger
@@ -88,17 +92,60 @@ public abstract class SkriptEventHandler {
 		}
 	}
 
+	/**
+	 * All triggers with the event classes they are registered for.
+	 * Must be locked with itself, as events may be called asynchronously while triggers are added or removed.
+	 */
 	private static final List<NonNullPair<Class<? extends Event>, Trigger>> triggers = new ArrayList<>();
 
 	private static final List<Trigger> selfRegisteredTriggers = new ArrayList<>();
 
-	private static Iterator<Trigger> getTriggers(Class<? extends Event> event) {
-		HandlerList eventHandlerList = getHandlerList(event);
+	/**
+	 * The table of the current {@link #triggers}, or null if they changed since it was created.
+	 * Replaced as a whole so that a table is never computed from an outdated list of triggers.
+	 */
+	@Nullable
+	private static volatile TriggerTable triggerTable;
+
+	/**
+	 * An immutable copy of the {@link #triggers}, with the triggers to run for each called event class
+	 * computed from it on the first call of that event, in the order they were added.
+	 */
+	private static final class TriggerTable {
+
+		private final List<NonNullPair<Class<? extends Event>, Trigger>> triggers;
+		private final Map<Class<? extends Event>, Trigger[]> table = new ConcurrentHashMap<>();
+
+		TriggerTable(List<NonNullPair<Class<? extends Event>, Trigger>> triggers) {
+			this.triggers = triggers;
+		}
+
+		Trigger[] get(Class<? extends Event> event) {
+			return table.computeIfAbsent(event, this::compute);
+		}
+
+		private Trigger[] compute(Class<? extends Event> event) {
+			HandlerList eventHandlerList = getHandlerList(event);
+
+			return triggers.stream()
+				.filter(pair -> pair.getFirst().isAssignableFrom(event) && eventHandlerList == getHandlerList(pair.getFirst()))
+				.map(NonNullPair::getSecond)
+				.toArray(Trigger[]::new);
+		}
 
-		return new ArrayList<>(triggers).stream()
-			.filter(pair -> pair.getFirst().isAssignableFrom(event) && eventHandlerList == getHandlerList(pair.getFirst()))
-			.map(NonNullPair::getSecond)
-			.iterator();
+	}
+
+	private static Iterator<Trigger> getTriggers(Class<? extends Event> event) {
+		TriggerTable table = triggerTable;
+		if (table == null) {
+			// Copied once after changes instead of on every change, as scripts add their triggers one by one
+			synchronized (triggers) {
+				table = triggerTable;
+				if (table == null)
+					triggerTable = table = new TriggerTable(new ArrayList<>(triggers));
+			}
+		}
+		return Arrays.asList(table.get(event)).iterator();
 	}
 
 	private static void check(Event e, EventPriority priority) {
@@ -181,8 +228,11 @@ public abstract class SkriptEventHandler {
 	}
 
 	public static void addTrigger(Class<? extends Event>[] events, Trigger trigger) {
-		for (Class<? extends Event> e : events) {
-			triggers.add(new NonNullPair<>(e, trigger));
+		synchronized (triggers) {
+			for (Class<? extends Event> e : events) {
+				triggers.add(new NonNullPair<>(e, trigger));
+			}
+			triggerTable = null;
 		}
 	}
 
@@ -200,9 +250,12 @@ public abstract class SkriptEventHandler {
 		ScriptInfo info = new ScriptInfo();
 		info.files = 1;
 
-		int previousSize = triggers.size();
-		triggers.removeIf(pair -> script.equals(pair.getSecond().getScript()));
-		info.triggers += previousSize - triggers.size();
+		synchronized (triggers) {
+			int previousSize = triggers.size();
+			triggers.removeIf(pair -> script.equals(pair.getSecond().getScript()));
+			info.triggers += previousSize - triggers.size();
+			triggerTable = null;
+		}
 
 		for (int i = 0; i < selfRegisteredTriggers.size(); i++) {
 			Trigger t = selfRegisteredTriggers.get(i);
@@ -220,94 +273,100 @@ public abstract class SkriptEventHandler {
 	}
 
 	static void removeAllTriggers() {
-		triggers.clear();
+		synchronized (triggers) {
+			triggers.clear();
+			triggerTable = null;
+		}
 		for (Trigger t : selfRegisteredTriggers)
 			((SelfRegisteringSkriptEvent) t.getEvent()).unregisterAll();
 		selfRegisteredTriggers.clear();
 	}
 
+	/**
+	 * The priorities Skript has registered a listener for, per {@link HandlerList}.
+	 * Lets {@link #registerBukkitEvents()} skip events that are already listened to without
+	 * walking their registered listeners again.
+	 */
+	private static final Map<HandlerList, Set<EventPriority>> registeredPriorities = new HashMap<>();
+
 	/**
 	 * Registers event handlers for all events which currently loaded
 	 * triggers are using.
 	 */
 	static void registerBukkitEvents() {
-		for (NonNullPair<Class<? extends Event>, Trigger> pair : triggers) {
-			assert pair.getFirst() != null;
-			Class<? extends Event> e = pair.getFirst();
-
-			EventPriority priority;
-			priority = pair.getSecond().getEvent().getEventPriority();
+		Map<Class<? extends Event>, Set<EventPriority>> events = new LinkedHashMap<>();
+		synchronized (triggers) {
+			for (NonNullPair<Class<? extends Event>, Trigger> pair : triggers) {
+				assert pair.getFirst() != null;
+				events.computeIfAbsent(pair.getFirst(), e -> EnumSet.noneOf(EventPriority.class))
+					.add(pair.getSecond().getEvent().getEventPriority());
+			}
+		}
 
-			PriorityListener listener = listeners[priority.ordinal()];
-			EventExecutor executor = listener.executor;
+		for (Map.Entry<Class<? extends Event>, Set<EventPriority>> entry : events.entrySet()) {
+			Class<? extends Event> e = entry.getKey();
+			if (e.equals(PlayerInteractAtEntityEvent.class) || e.equals(PlayerArmorStandManipulateEvent.class))
+				continue; // Ignore, registered with PlayerInteractEntityEvent
 
 			HandlerList handlerList = getHandlerList(e);
-
 			if (handlerList == null)
 				continue;
 
-			// PlayerInteractEntityEvent has a subclass we need for armor stands
-			if (e.equals(PlayerInteractEntityEvent.class)) {
-				if (!isEventRegistered(handlerList, priority)) {
-					Bukkit.getPluginManager().registerEvent(e, listener, priority, executor, Skript.getInstance());
-					Bukkit.getPluginManager().registerEvent(PlayerInteractAtEntityEvent.class, listener, priority, executor, Skript.getInstance());
-				}
-				continue;
-			}
-			if (e.equals(PlayerInteractAtEntityEvent.class) || e.equals(PlayerArmorStandManipulateEvent.class))
-				continue; // Ignore, registered above
+			Set<EventPriority> registered = registeredPriorities.computeIfAbsent(handlerList, h -> EnumSet.noneOf(EventPriority.class));
+			for (EventPriority priority : entry.getValue()) {
+				if (registered.contains(priority))
+					continue;
+				registered.add(priority);
+				if (isEventRegistered(handlerList, priority)) // Check if event is registered
+					continue;
 
-			if (!isEventRegistered(handlerList, priority)) // Check if event is registered
+				PriorityListener listener = listeners[priority.ordinal()];
+				EventExecutor executor = listener.executor;
 				Bukkit.getPluginManager().registerEvent(e, listener, priority, executor, Skript.getInstance());
+				// PlayerInteractEntityEvent has a subclass we need for armor stands
+				if (e.equals(PlayerInteractEntityEvent.class))
+					Bukkit.getPluginManager().registerEvent(PlayerInteractAtEntityEvent.class, listener, priority, executor, Skript.getInstance());
+			}
 		}
 	}
 
 	/**
-	 * A cache for the getHandlerList methods of Event classes
+	 * A cache for the HandlerLists of Event classes, which are resolved only once per class.
+	 * The value is null if the class has no getHandlerList method.
 	 */
-	private static final Map<Class<? extends Event>, Method> handlerListMethods = new HashMap<>();
-
-	@Nullable
-	@SuppressWarnings("ThrowableNotThrown")
-	private static HandlerList getHandlerList(Class<? extends Event> eventClass) {
-		try {
-			Method method = getHandlerListMethod(eventClass);
-			method.setAccessible(true);
-			return (HandlerList) method.invoke(null);
-		} catch (Exception ex) {
-			Skript.exception(ex, "Failed to get HandlerList for event " + eventClass.getName());
-			return null;
-		}
-	}
-
-	private static Method getHandlerListMethod(Class<? extends Event> eventClass) {
-		Method method;
-
-		synchronized (handlerListMethods) {
-			method = handlerListMethods.get(eventClass);
-			if (method == null) {
-				method = getHandlerListMethod_i(eventClass);
-				if (method != null)
-					method.setAccessible(true);
-				handlerListMethods.put(eventClass, method);
+	private static final ClassValue<HandlerList> handlerLists = new ClassValue<HandlerList>() {
+		@Override
+		@Nullable
+		@SuppressWarnings("ThrowableNotThrown")
+		protected HandlerList computeValue(@Nullable Class<?> eventClass) {
+			assert eventClass != null;
+			try {
+				Method method = getHandlerListMethod(eventClass);
+				if (method == null)
+					throw new RuntimeException("No getHandlerList method found");
+				method.setAccessible(true);
+				return (HandlerList) method.invoke(null);
+			} catch (Exception ex) {
+				Skript.exception(ex, "Failed to get HandlerList for event " + eventClass.getName());
+				return null;
 			}
 		}
+	};
 
-		if (method == null)
-			throw new RuntimeException("No getHandlerList method found");
-
-		return method;
+	@Nullable
+	private static HandlerList getHandlerList(Class<? extends Event> eventClass) {
+		return handlerLists.get(eventClass);
 	}
 
 	@Nullable
-	private static Method getHandlerListMethod_i(Class<? extends Event> eventClass) {
+	private static Method getHandlerListMethod(Class<?> eventClass) {
 		try {
 			return eventClass.getDeclaredMethod("getHandlerList");
 		} catch (NoSuchMethodException e) {
 			if (eventClass.getSuperclass() != null
 				&& !eventClass.getSuperclass().equals(Event.class)
 				&& Event.class.isAssignableFrom(eventClass.getSuperclass())) {
-				return getHandlerListMethod(eventClass.getSuperclass().asSubclass(Event.class));
+				return getHandlerListMethod(eventClass.getSuperclass());
 			} else {
 				return null;
 			}
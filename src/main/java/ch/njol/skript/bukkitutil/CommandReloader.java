@@ -37,7 +37,10 @@ public class CommandReloader {
 	static {
 		try {
 			Class<?> craftServer;
-			String revision = Bukkit.getServer().getClass().getPackage().getName().split("\\.")[3];
+			String[] serverClass = Bukkit.getServer().getClass().getName().split("\\.");
+			if (serverClass.length < 5 || !serverClass[0].equals("org") || !serverClass[1].equals("bukkit") || !serverClass[2].equals("craftbukkit"))
+				throw new ClassNotFoundException("Not a CraftBukkit server: " + Bukkit.getServer().getClass().getName());
+			String revision = serverClass[3];
 			craftServer = Class.forName("org.bukkit.craftbukkit." + revision + ".CraftServer");
 			
 			syncCommandsMethod = craftServer.getDeclaredMethod("syncCommands");
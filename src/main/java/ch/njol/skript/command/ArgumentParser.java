@@ -0,0 +1,297 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.command;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.classes.Converter;
+import ch.njol.skript.classes.Converter.ConverterInfo;
+import ch.njol.skript.classes.Parser;
+import ch.njol.skript.lang.ParseContext;
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.log.ParseLogHandler;
+import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.registrations.Converters;
+
+/**
+ * The arguments of a {@link ScriptCommand}, compiled when the command is loaded.
+ * <p>
+ * Commands whose arguments are separated by single spaces (e.g. <tt>/pay &lt;player&gt; &lt;number&gt;</tt>) are parsed by
+ * splitting the input into words and parsing every word with the parsers of its type, which are looked up only once.
+ * All other commands, as well as any input the fast path can't handle, are parsed using the command's pattern
+ * by {@link SkriptParser#parseArguments(String, ScriptCommand, ScriptCommandEvent)}.
+ * <p>
+ * This also holds the tab completions of arguments whose values are known in advance.
+ */
+public final class ArgumentParser {
+	
+	/**
+	 * Types whose values never contain spaces, and which can thus be parsed from a single word.
+	 * Arguments which are not the last argument of a command must be of one of these types to use the fast path.
+	 */
+	private static final Class<?>[] WORD_TYPES = {Number.class, Player.class, OfflinePlayer.class, Boolean.class};
+	
+	private final List<Argument<?>> arguments;
+	
+	/**
+	 * The parsers of every argument, or null if the arguments can't be parsed by the fast path.
+	 */
+	@Nullable
+	private final TypeParser<?>[] parsers;
+	
+	/**
+	 * The sorted, lowercase tab completions of every argument. Null elements use the default completion.
+	 */
+	private final String[][] completions;
+	
+	ArgumentParser(String pattern, List<Argument<?>> arguments) {
+		this.arguments = arguments;
+		this.parsers = compile(pattern, arguments);
+		this.completions = new String[arguments.size()][];
+		for (int i = 0; i < completions.length; i++)
+			completions[i] = getCompletions(arguments.get(i).getType());
+	}
+	
+	@Nullable
+	private static TypeParser<?>[] compile(String pattern, List<Argument<?>> arguments) {
+		StringBuilder expected = new StringBuilder();
+		TypeParser<?>[] parsers = new TypeParser[arguments.size()];
+		boolean optional = false;
+		for (int i = 0; i < arguments.size(); i++) {
+			Argument<?> argument = arguments.get(i);
+			if (!argument.isSingle())
+				return null;
+			if (argument.isOptional()) {
+				optional = true;
+			} else if (optional) {
+				return null; // Required arguments must come before any optional ones
+			}
+			if (i != arguments.size() - 1 && !isWordType(argument.getType()))
+				return null;
+			
+			ClassInfo<?> classInfo = Classes.getExactClassInfo(argument.getType());
+			if (classInfo == null)
+				return null;
+			if (i != 0)
+				expected.append(' ');
+			if (argument.isOptional())
+				expected.append("[%-").append(classInfo.getCodeName()).append("%]");
+			else
+				expected.append('%').append(classInfo.getCodeName()).append('%');
+			parsers[i] = new TypeParser<>(argument.getType());
+		}
+		
+		// Only use the fast path if the pattern consists of nothing but the arguments
+		if (!pattern.equals(expected.toString()))
+			return null;
+		return parsers;
+	}
+	
+	private static boolean isWordType(Class<?> type) {
+		for (Class<?> c : WORD_TYPES) {
+			if (c.isAssignableFrom(type))
+				return true;
+		}
+		return false;
+	}
+	
+	@Nullable
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static String[] getCompletions(Class<?> type) {
+		if (type == Boolean.class)
+			return new String[] {"false", "true"};
+		if (!type.isEnum())
+			return null;
+		ClassInfo<?> classInfo = Classes.getExactClassInfo(type);
+		Parser parser = classInfo == null ? null : classInfo.getParser();
+		if (parser == null)
+			return null;
+		List<String> names = new ArrayList<>();
+		for (Object constant : type.getEnumConstants()) {
+			try {
+				names.add(parser.toString(constant, 0).toLowerCase(Locale.ENGLISH));
+			} catch (RuntimeException ignored) {
+				// Not every constant has a name on every server version
+			}
+		}
+		String[] completions = names.toArray(new String[0]);
+		Arrays.sort(completions);
+		return completions;
+	}
+	
+	/**
+	 * Tries to parse the arguments of a command using the fast path, and sets the values of the arguments on success.
+	 * <p>
+	 * This neither prints nor retains any errors when it fails.
+	 * 
+	 * @param input The arguments of the command
+	 * @param event The event of the command
+	 * @return Whether the arguments could be parsed. If not, they must be parsed with the command's pattern.
+	 */
+	public boolean parse(String input, ScriptCommandEvent event) {
+		TypeParser<?>[] parsers = this.parsers;
+		if (parsers == null)
+			return false;
+		Object[] values = new Object[parsers.length];
+		ParseLogHandler log = SkriptLogger.startParseLogHandler();
+		try {
+			if (!parse(input, parsers, values)) {
+				log.clear();
+				log.clearError();
+				return false;
+			}
+			log.printLog(false); // Errors of parsers which failed before another one succeeded are irrelevant
+		} finally {
+			log.stop();
+		}
+		
+		for (int i = 0; i < values.length; i++) {
+			Object value = values[i];
+			if (value == null) {
+				arguments.get(i).setToDefault(event);
+			} else {
+				Object[] array = (Object[]) Array.newInstance(value.getClass(), 1);
+				array[0] = value;
+				arguments.get(i).set(event, array);
+			}
+		}
+		return true;
+	}
+	
+	private boolean parse(String input, TypeParser<?>[] parsers, Object[] values) {
+		int start = 0;
+		int i = 0;
+		for (; i < parsers.length && start < input.length(); i++) {
+			int end = i == parsers.length - 1 ? input.length() : input.indexOf(' ', start);
+			if (end == -1)
+				end = input.length();
+			String word = input.substring(start, end);
+			// The pattern matcher is more lenient with whitespace, so leave such input to it
+			if (word.isEmpty() || Character.isWhitespace(word.charAt(0)) || Character.isWhitespace(word.charAt(word.length() - 1)))
+				return false;
+			Object value = parsers[i].parse(word);
+			if (value == null)
+				return false;
+			values[i] = value;
+			start = end + 1;
+		}
+		// Neither too many nor too few words
+		return start >= input.length() && (i == parsers.length || arguments.get(i).isOptional());
+	}
+	
+	/**
+	 * @param index The index of the argument
+	 * @param input What was typed so far
+	 * @return A new list of the completions of the argument which start with the given input,
+	 * or null if the argument's type has no known completions.
+	 */
+	@Nullable
+	List<String> getCompletions(int index, String input) {
+		String[] completions = this.completions[index];
+		if (completions == null)
+			return null;
+		String prefix = input.toLowerCase(Locale.ENGLISH);
+		int from = Arrays.binarySearch(completions, prefix);
+		if (from < 0)
+			from = -from - 1;
+		int to = from;
+		while (to < completions.length && completions[to].startsWith(prefix))
+			to++;
+		// Copied, as the list is passed on to other plugins which may modify it
+		return new ArrayList<>(Arrays.asList(completions).subList(from, to));
+	}
+	
+	/**
+	 * Parses strings to a type in the same way as {@link Classes#parse(String, Class, ParseContext)} does in the
+	 * {@link ParseContext#COMMAND command context}, but with all parsers and converters looked up in advance.
+	 */
+	private static final class TypeParser<T> {
+		
+		private final Parser<?>[] parsers;
+		private final Parser<?>[][] convertedParsers;
+		private final Converter<?, ?>[] converters;
+		
+		@SuppressWarnings("unchecked")
+		TypeParser(Class<T> type) {
+			parsers = getParsers(type);
+			List<Parser<?>[]> convertedParsers = new ArrayList<>();
+			List<Converter<?, ?>> converters = new ArrayList<>();
+			for (ConverterInfo<?, ?> info : Converters.getConverters()) {
+				if ((info.options & Converter.NO_COMMAND_ARGUMENTS) != 0 || !type.isAssignableFrom(info.to))
+					continue;
+				Parser<?>[] from = getParsers(info.from);
+				if (from.length == 0)
+					continue;
+				convertedParsers.add(from);
+				converters.add(info.converter);
+			}
+			this.convertedParsers = convertedParsers.toArray(new Parser[0][]);
+			this.converters = converters.toArray(new Converter[0]);
+		}
+		
+		private static Parser<?>[] getParsers(Class<?> type) {
+			List<Parser<?>> parsers = new ArrayList<>();
+			for (ClassInfo<?> info : Classes.getClassInfos()) {
+				Parser<?> parser = info.getParser();
+				if (parser != null && parser.canParse(ParseContext.COMMAND) && type.isAssignableFrom(info.getC()))
+					parsers.add(parser);
+			}
+			return parsers.toArray(new Parser[0]);
+		}
+		
+		@Nullable
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		Object parse(String s) {
+			Object value = parse(parsers, s);
+			if (value != null)
+				return value;
+			for (int i = 0; i < converters.length; i++) {
+				Object from = parse(convertedParsers[i], s);
+				if (from != null) {
+					value = ((Converter) converters[i]).convert(from);
+					if (value != null)
+						return value;
+				}
+			}
+			return null;
+		}
+		
+		@Nullable
+		private static Object parse(Parser<?>[] parsers, String s) {
+			for (Parser<?> parser : parsers) {
+				Object value = parser.parse(s, ParseContext.COMMAND);
+				if (value != null)
+					return value;
+			}
+			return null;
+		}
+		
+	}
+	
+}
@@ -492,6 +492,7 @@ public abstract class Commands {
 	}
 	
 	public static int unregisterCommands(final File script) {
+		ScriptCommand.flushCooldownStorage();
 		int numCommands = 0;
 		final Iterator<ScriptCommand> commandsIter = commands.values().iterator();
 		while (commandsIter.hasNext()) {
@@ -551,6 +552,7 @@ public abstract class Commands {
 	}
 	
 	public static void clearCommands() {
+		ScriptCommand.flushCooldownStorage();
 		final SimpleCommandMap commandMap = Commands.commandMap;
 		if (commandMap != null) {
 			final Map<String, Command> cmKnownCommands = Commands.cmKnownCommands;
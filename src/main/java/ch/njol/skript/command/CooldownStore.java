@@ -0,0 +1,310 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.command;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.util.Date;
+import ch.njol.skript.util.Task;
+
+/**
+ * Keeps the last usage dates of commands with a cooldown.
+ * <p>
+ * Dates are dropped by a timing wheel once their cooldown has passed, so that they don't stay in memory forever.
+ * If the store is persistent, changes are not written on every use of a command but in batches,
+ * {@link #FLUSH_INTERVAL a few seconds} after the first unwritten change and whenever commands are unregistered.
+ * Only the latest change of every key is written. Changes made to the persisted dates by others must be reported
+ * with {@link #invalidate(Object)}, so that they replace the date in memory instead of being overwritten by it.
+ *
+ * @param <K> The type of the keys, e.g. a player's UUID or the name of a cooldown storage variable
+ */
+final class CooldownStore<K> {
+	
+	/**
+	 * The length of a single slot of the timing wheel, in milliseconds.
+	 */
+	private static final long SLOT_LENGTH = 1000;
+	
+	/**
+	 * The number of slots in the timing wheel. Dates which expire later than one rotation of the wheel
+	 * stay in their slot until the rotation in which they expire.
+	 */
+	private static final int SLOTS = 64;
+	
+	/**
+	 * The delay in ticks after which changes of persistent stores are written.
+	 */
+	private static final long FLUSH_INTERVAL = 5 * 20;
+	
+	private static final class CooldownEntry<K> {
+		
+		final K key;
+		
+		/**
+		 * The last usage date, or null if it was deleted but the deletion hasn't been written yet.
+		 */
+		@Nullable
+		Date date;
+		
+		/**
+		 * The time in milliseconds at which this entry can be dropped, or -1 if it is kept.
+		 */
+		long expiresAt;
+		
+		/**
+		 * Whether this entry is in a slot of the timing wheel. An entry is in at most one slot at a time.
+		 */
+		boolean scheduled;
+		
+		/**
+		 * Whether this entry was changed since the last flush.
+		 */
+		boolean dirty;
+		
+		CooldownEntry(K key, @Nullable Date date, long expiresAt) {
+			this.key = key;
+			this.date = date;
+			this.expiresAt = expiresAt;
+		}
+		
+	}
+	
+	private final Map<K, CooldownEntry<K>> entries = new HashMap<>();
+	
+	@SuppressWarnings("unchecked")
+	private final List<CooldownEntry<K>>[] wheel = new List[SLOTS];
+	
+	/**
+	 * The last slot (in units of {@link #SLOT_LENGTH} since the epoch) which was processed.
+	 */
+	private long lastSlot = System.currentTimeMillis() / SLOT_LENGTH;
+	
+	@Nullable
+	private final Function<K, Date> loader;
+	@Nullable
+	private final BiConsumer<K, Date> writer;
+	
+	@Nullable
+	private Task flushTask;
+	
+	/**
+	 * Whether the store is currently writing dates, i.e. whether invalidations are caused by the store itself.
+	 */
+	private boolean writing;
+	
+	/**
+	 * Creates a store which keeps its dates only in memory.
+	 */
+	CooldownStore() {
+		this.loader = null;
+		this.writer = null;
+	}
+	
+	/**
+	 * Creates a persistent store.
+	 *
+	 * @param loader Loads the persisted date of a key which is not in memory
+	 * @param writer Persists the date of a key, or deletes it if the date is null
+	 */
+	CooldownStore(Function<K, Date> loader, BiConsumer<K, Date> writer) {
+		this.loader = loader;
+		this.writer = writer;
+	}
+	
+	@Nullable
+	synchronized Date get(K key) {
+		advance(System.currentTimeMillis());
+		CooldownEntry<K> entry = entries.get(key);
+		if (entry != null)
+			return entry.date;
+		Function<K, Date> loader = this.loader;
+		return loader != null ? loader.apply(key) : null;
+	}
+	
+	/**
+	 * Sets the last usage date of a key.
+	 *
+	 * @param key The key
+	 * @param date The date, or null to delete it
+	 * @param expiresAt The time in milliseconds after which the date is no longer needed, or -1 if it must be kept
+	 */
+	synchronized void set(K key, @Nullable Date date, long expiresAt) {
+		long now = System.currentTimeMillis();
+		advance(now);
+		
+		BiConsumer<K, Date> writer = this.writer;
+		// Dates whose cooldown has already passed don't need to be kept in memory
+		if (date == null && writer == null || date != null && expiresAt != -1 && expiresAt <= now) {
+			entries.remove(key);
+			if (writer != null)
+				write(writer, key, date);
+			return;
+		}
+		CooldownEntry<K> entry = entries.get(key);
+		if (entry == null) {
+			entry = new CooldownEntry<>(key, date, expiresAt);
+			entries.put(key, entry);
+		} else {
+			entry.date = date;
+			entry.expiresAt = expiresAt;
+		}
+		if (writer != null) {
+			entry.dirty = true;
+			scheduleFlush();
+		}
+		
+		// An entry which is already scheduled is moved to the right slot once its current slot is processed
+		if (date != null && expiresAt != -1 && !entry.scheduled)
+			schedule(entry);
+	}
+	
+	/**
+	 * Drops the date of a key from memory, as its persisted date was changed by someone else.
+	 * An unwritten change of the key is discarded, as it is older than the persisted date.
+	 */
+	synchronized void invalidate(K key) {
+		if (!writing)
+			entries.remove(key);
+	}
+	
+	/**
+	 * Drops the dates of all keys matching the given predicate from memory.
+	 *
+	 * @see #invalidate(Object)
+	 */
+	synchronized void invalidateIf(Predicate<K> predicate) {
+		if (!writing)
+			entries.keySet().removeIf(predicate);
+	}
+	
+	/**
+	 * Writes all changes of a persistent store.
+	 */
+	synchronized void flush() {
+		Task flushTask = this.flushTask;
+		if (flushTask != null) {
+			flushTask.cancel();
+			this.flushTask = null;
+		}
+		BiConsumer<K, Date> writer = this.writer;
+		if (writer == null)
+			return;
+		Iterator<CooldownEntry<K>> iterator = entries.values().iterator();
+		while (iterator.hasNext()) {
+			CooldownEntry<K> entry = iterator.next();
+			if (!entry.dirty)
+				continue;
+			write(writer, entry.key, entry.date);
+			entry.dirty = false;
+			// Deleted dates don't need to be remembered once the deletion is written
+			if (entry.date == null)
+				iterator.remove();
+		}
+	}
+	
+	private void write(BiConsumer<K, Date> writer, K key, @Nullable Date date) {
+		writing = true;
+		try {
+			writer.accept(key, date);
+		} finally {
+			writing = false;
+		}
+	}
+	
+	private void scheduleFlush() {
+		if (flushTask != null)
+			return;
+		flushTask = new Task(Skript.getInstance(), FLUSH_INTERVAL) {
+			@Override
+			public void run() {
+				flush();
+			}
+		};
+	}
+	
+	private void schedule(CooldownEntry<K> entry) {
+		int slot = getSlot(entry.expiresAt);
+		List<CooldownEntry<K>> slotEntries = wheel[slot];
+		if (slotEntries == null)
+			wheel[slot] = slotEntries = new ArrayList<>();
+		slotEntries.add(entry);
+		entry.scheduled = true;
+	}
+	
+	private static int getSlot(long time) {
+		return (int) ((time / SLOT_LENGTH) % SLOTS);
+	}
+	
+	/**
+	 * Drops all dates which expired since the last time the wheel was advanced.
+	 */
+	private void advance(long now) {
+		long currentSlot = now / SLOT_LENGTH;
+		if (currentSlot <= lastSlot)
+			return;
+		// After a whole rotation every slot has been processed once
+		long firstSlot = Math.max(lastSlot + 1, currentSlot - SLOTS + 1);
+		for (long slot = firstSlot; slot <= currentSlot; slot++)
+			expire((int) (slot % SLOTS), now);
+		lastSlot = currentSlot;
+	}
+	
+	private void expire(int slot, long now) {
+		List<CooldownEntry<K>> slotEntries = wheel[slot];
+		if (slotEntries == null || slotEntries.isEmpty())
+			return;
+		List<CooldownEntry<K>> remaining = new ArrayList<>();
+		for (CooldownEntry<K> entry : slotEntries) {
+			// The entry may have been removed or replaced, or may have to be kept now
+			if (entries.get(entry.key) != entry || entry.expiresAt == -1) {
+				entry.scheduled = false;
+				continue;
+			}
+			if (entry.expiresAt <= now) {
+				entries.remove(entry.key);
+				entry.scheduled = false;
+				BiConsumer<K, Date> writer = this.writer;
+				if (writer != null && entry.dirty)
+					write(writer, entry.key, entry.date);
+				continue;
+			}
+			int expirySlot = getSlot(entry.expiresAt);
+			if (expirySlot == slot) {
+				remaining.add(entry); // Expires in a later rotation of the wheel
+			} else { // The date was changed since the entry was scheduled
+				List<CooldownEntry<K>> expirySlotEntries = wheel[expirySlot];
+				if (expirySlotEntries == null)
+					wheel[expirySlot] = expirySlotEntries = new ArrayList<>();
+				expirySlotEntries.add(entry);
+			}
+		}
+		wheel[slot] = remaining.isEmpty() ? null : remaining;
+	}
+	
+}
@@ -58,6 +58,7 @@ import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.lang.Variable;
 import ch.njol.skript.lang.VariableString;
 import ch.njol.skript.lang.util.SimpleEvent;
 import ch.njol.skript.lang.util.SimpleLiteral;
@@ -104,13 +105,41 @@ public class ScriptCommand implements TabExecutor {
 
 	private final String pattern;
 	private final List<Argument<?>> arguments;
+	private final ArgumentParser argumentParser;
 
 	public final static int PLAYERS = 0x1, CONSOLE = 0x2, BOTH = PLAYERS | CONSOLE;
 	final int executableBy;
 
 	private transient PluginCommand bukkitCommand;
 
-	private Map<UUID,Date> lastUsageMap = new HashMap<>();
+	/**
+	 * Last usage dates of players, if this command doesn't use a cooldown storage variable.
+	 */
+	private final CooldownStore<UUID> lastUsages = new CooldownStore<>();
+
+	/**
+	 * Last usage dates of all commands which use a cooldown storage variable, keyed by the name of the variable.
+	 * They are written to their variables in batches instead of on every use of a command.
+	 */
+	private static final CooldownStore<String> storedLastUsages = new CooldownStore<>(
+		name -> {
+			Object date = Variables.getVariable(name, null, false);
+			return date instanceof Date ? (Date) date : null;
+		},
+		(name, date) -> Variables.setVariable(name, date, null, false)
+	);
+
+	static {
+		// Scripts may change or delete the variables as well, which must replace the cached dates
+		Variables.addChangeListener(name -> {
+			if (name.endsWith(Variable.SEPARATOR + "*")) {
+				String prefix = name.substring(0, name.length() - 1);
+				storedLastUsages.invalidateIf(key -> key.startsWith(prefix));
+			} else {
+				storedLastUsages.invalidate(name);
+			}
+		});
+	}
 
 	/**
 	 * Creates a new SkriptCommand.
@@ -161,6 +190,7 @@ public class ScriptCommand implements TabExecutor {
 
 		this.pattern = pattern;
 		this.arguments = arguments;
+		this.argumentParser = new ArgumentParser(pattern, arguments);
 
 		trigger = new Trigger(script, "command /" + name, new SimpleEvent(), items);
 
@@ -310,6 +340,10 @@ public class ScriptCommand implements TabExecutor {
 		return pattern;
 	}
 
+	public ArgumentParser getArgumentParser() {
+		return argumentParser;
+	}
+
 	@Nullable
 	private transient Command overridden = null;
 	private transient Map<String, Command> overriddenAliases = new HashMap<>();
@@ -434,35 +468,47 @@ public class ScriptCommand implements TabExecutor {
 			variableString = variableString.substring(1);
 		if (variableString.endsWith("}"))
 			variableString = variableString.substring(0, variableString.length() - 1);
+		// Different spellings of the same variable must share their cached last usage date
+		if (Variables.caseInsensitiveVariables)
+			variableString = variableString.toLowerCase(Locale.ENGLISH);
 		return variableString;
 	}
 
 	@Nullable
 	public Date getLastUsage(UUID uuid, Event event) {
 		if (cooldownStorage == null) {
-			return lastUsageMap.get(uuid);
+			return lastUsages.get(uuid);
 		} else {
 			String name = getStorageVariableName(event);
 			assert name != null;
-			return (Date) Variables.getVariable(name, null, false);
+			return storedLastUsages.get(name);
 		}
 	}
 
 	public void setLastUsage(UUID uuid, Event event, @Nullable Date date) {
+		// Once the cooldown has passed, the date is only needed if it may be accessed through 'last usage date'
+		long expiresAt = -1;
+		Timespan cooldown = this.cooldown;
+		if (date != null && cooldown != null && !SkriptConfig.keepLastUsageDates.value())
+			expiresAt = date.getTimestamp() + cooldown.getMilliSeconds();
+
 		if (cooldownStorage != null) {
-			// Using a variable
+			// Using a variable, which is written in batches
 			String name = getStorageVariableName(event);
 			assert name != null;
-			Variables.setVariable(name, date, null, false);
+			storedLastUsages.set(name, date, expiresAt);
 		} else {
-			// Use the map
-			if (date == null)
-				lastUsageMap.remove(uuid);
-			else
-				lastUsageMap.put(uuid, date);
+			lastUsages.set(uuid, date, expiresAt);
 		}
 	}
 
+	/**
+	 * Writes all pending changes of cooldown storage variables.
+	 */
+	static void flushCooldownStorage() {
+		storedLastUsages.flush();
+	}
+
 	public long getRemainingMilliseconds(UUID uuid, Event event) {
 		Date lastUsage = getLastUsage(uuid, event);
 		if (lastUsage == null)
@@ -528,6 +574,9 @@ public class ScriptCommand implements TabExecutor {
 		if (argType.equals(Player.class) || argType.equals(OfflinePlayer.class))
 			return null; // Default completion
 		
+		List<String> completions = argumentParser.getCompletions(argIndex, args[argIndex]);
+		if (completions != null)
+			return completions;
 		return Collections.emptyList(); // No tab completion here!
 	}
 
@@ -21,6 +21,7 @@
 package ch.njol.skript.conditions;
 
 import java.util.Arrays;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.bukkit.event.Event;
@@ -34,6 +35,7 @@ import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Condition;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.patterns.PatternCache;
 import ch.njol.util.Kleenean;
 
 @Name("Matches")
@@ -79,20 +81,21 @@ public class CondMatches extends Condition {
 		boolean regexAnd = regex.getAnd();
 		if (stringAnd) {
 			if (regexAnd) {
-				result = Arrays.stream(txt).allMatch((str) -> Arrays.stream(regexes).parallel().map(Pattern::compile).allMatch((pattern -> matches(str, pattern))));
+				result = Arrays.stream(txt).allMatch((str) -> Arrays.stream(regexes).parallel().map(PatternCache::getRegex).allMatch((pattern -> matches(str, pattern))));
 			} else {
-				result = Arrays.stream(txt).allMatch((str) -> Arrays.stream(regexes).parallel().map(Pattern::compile).anyMatch((pattern -> matches(str, pattern))));
+				result = Arrays.stream(txt).allMatch((str) -> Arrays.stream(regexes).parallel().map(PatternCache::getRegex).anyMatch((pattern -> matches(str, pattern))));
 			}
 		} else if (regexAnd) {
-			result = Arrays.stream(txt).anyMatch((str) -> Arrays.stream(regexes).parallel().map(Pattern::compile).allMatch((pattern -> matches(str, pattern))));
+			result = Arrays.stream(txt).anyMatch((str) -> Arrays.stream(regexes).parallel().map(PatternCache::getRegex).allMatch((pattern -> matches(str, pattern))));
 		} else {
-			result = Arrays.stream(txt).anyMatch((str) -> Arrays.stream(regexes).parallel().map(Pattern::compile).anyMatch((pattern -> matches(str, pattern))));
+			result = Arrays.stream(txt).anyMatch((str) -> Arrays.stream(regexes).parallel().map(PatternCache::getRegex).anyMatch((pattern -> matches(str, pattern))));
 		}
 		return result == isNegated();
 	}
 	
 	public boolean matches(String str, Pattern pattern) {
-		return partial ? pattern.matcher(str).find() : str.matches(pattern.pattern());
+		Matcher matcher = pattern.matcher(str);
+		return partial ? matcher.find() : matcher.matches();
 	}
 	
 	@Override
@@ -29,17 +29,19 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.TriggerItem;
+import ch.njol.skript.timings.RuntimeMetrics;
 import ch.njol.skript.timings.SkriptTimings;
+import ch.njol.skript.util.TickScheduler;
 import ch.njol.skript.util.Timespan;
 import ch.njol.skript.variables.Variables;
 import ch.njol.util.Kleenean;
-import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
 import java.util.Collections;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Name("Delay")
 @Description("Delays the script's execution by a given timespan. Please note that delays are not persistent, e.g. trying to create a tempban script with <code>ban player → wait 7 days → unban player</code> will not work if you restart your server anytime within these 7 days. You also have to be careful even when using small delays!")
@@ -51,8 +53,14 @@ import java.util.WeakHashMap;
 @Since("1.4")
 public class Delay extends Effect {
 
+	/**
+	 * The number of delayed continuations which haven't run yet.
+	 */
+	private static final LongAdder pendingContinuations = new LongAdder();
+
 	static {
 		Skript.registerEffect(Delay.class, "(wait|halt) [for] %timespan%");
+		RuntimeMetrics.registerGauge("skript_delays_pending", "Code waiting to continue after a delay", pendingContinuations::sum);
 	}
 
 	@SuppressWarnings("NotNullFieldNotInitialized")
@@ -90,7 +98,9 @@ public class Delay extends Effect {
 			// Back up local variables
 			Object localVars = Variables.removeLocals(event);
 			
-			Bukkit.getScheduler().scheduleSyncDelayedTask(Skript.getInstance(), () -> {
+			pendingContinuations.increment();
+			TickScheduler.schedule(() -> {
+				pendingContinuations.decrement();
 				Skript.debug(getIndentation() + "... continuing after " + (System.nanoTime() - start) / 1_000_000_000. + "s");
 
 				// Re-set local variables
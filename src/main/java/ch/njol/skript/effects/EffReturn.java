@@ -109,7 +109,7 @@ public class EffReturn extends Effect {
 	protected TriggerItem walk(final Event e) {
 		debug(e, false);
 		if (e instanceof FunctionEvent) {
-			((ScriptFunction) function).setReturnValue(value.getArray(e));
+			((ScriptFunction) function).setReturnValue((FunctionEvent<?>) e, value.getArray(e));
 		} else {
 			assert false : e;
 		}
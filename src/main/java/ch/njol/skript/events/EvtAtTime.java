@@ -37,6 +37,8 @@ import ch.njol.skript.lang.SelfRegisteringSkriptEvent;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.util.TickScheduler;
+import ch.njol.skript.util.TickScheduler.ScheduledTask;
 import ch.njol.skript.util.Time;
 import ch.njol.util.Math2;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -90,12 +92,13 @@ public class EvtAtTime extends SelfRegisteringSkriptEvent implements Comparable<
 		return true;
 	}
 	
-	private static int taskID = -1;
+	@Nullable
+	private static ScheduledTask task = null;
 	
 	private static void registerListener() {
-		if (taskID != -1)
+		if (task != null)
 			return;
-		taskID = Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), new Runnable() {
+		task = TickScheduler.schedule(new Runnable() {
 			@SuppressWarnings("null")
 			@Override
 			public void run() {
@@ -128,7 +131,7 @@ public class EvtAtTime extends SelfRegisteringSkriptEvent implements Comparable<
 					i.lastTick = tick;
 				}
 			}
-		}, 0, CHECKPERIOD);
+		}, 1, CHECKPERIOD);
 	}
 	
 	void execute(final World w) {
@@ -179,10 +182,11 @@ public class EvtAtTime extends SelfRegisteringSkriptEvent implements Comparable<
 	
 	@Override
 	public void unregisterAll() {
-		if (taskID != -1)
-			Bukkit.getScheduler().cancelTask(taskID);
+		ScheduledTask task = EvtAtTime.task;
+		if (task != null)
+			task.cancel();
 		t = null;
-		taskID = -1;
+		EvtAtTime.task = null;
 		triggers.clear();
 	}
 	
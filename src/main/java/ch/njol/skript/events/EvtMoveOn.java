@@ -39,11 +39,10 @@ import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.plugin.EventExecutor;
 import org.eclipse.jdt.annotation.Nullable;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 
@@ -64,49 +63,69 @@ public class EvtMoveOn extends SelfRegisteringSkriptEvent { // TODO on jump
 	 */
 	private static final ItemType FENCE_PART = Aliases.javaItemType("fence part");
 	
-	private static final HashMap<Material, List<Trigger>> ITEM_TYPE_TRIGGERS = new HashMap<>();
+	/**
+	 * The triggers to check for each material. The arrays are replaced instead of modified.
+	 */
+	private static final EnumMap<Material, Trigger[]> ITEM_TYPE_TRIGGERS = new EnumMap<>(Material.class);
 
 	@SuppressWarnings("ConstantConditions")
 	private ItemType[] types = null;
 	
 	private static boolean registeredExecutor = false;
 	private static final EventExecutor executor = (l, event) -> {
+		if (ITEM_TYPE_TRIGGERS.isEmpty())
+			return;
 		PlayerMoveEvent e = (PlayerMoveEvent) event;
 		Location from = e.getFrom(), to = e.getTo();
 
-		if (!ITEM_TYPE_TRIGGERS.isEmpty()) {
-			Block block = getOnBlock(to);
-			if (block == null || block.getType() == Material.AIR)
-				return;
-			Material id = block.getType();
-			List<Trigger> ts = ITEM_TYPE_TRIGGERS.get(id);
-			if (ts == null)
-				return;
-			int y = getBlockY(to.getY(), id);
-			if (to.getWorld().equals(from.getWorld()) && to.getBlockX() == from.getBlockX() && to.getBlockZ() == from.getBlockZ()
-					&& y == getBlockY(from.getY(), getOnBlock(from).getType()) && getOnBlock(from).getType() == id)
+		// Most move events are just rotations or movements within a block, which can be filtered out without looking up any blocks
+		boolean sameColumn = to.getBlockX() == from.getBlockX() && to.getBlockZ() == from.getBlockZ() && to.getWorld().equals(from.getWorld());
+		if (sameColumn && isSameHeight(to.getY(), from.getY()))
+			return;
+
+		Block block = getOnBlock(to);
+		if (block == null || block.getType() == Material.AIR)
+			return;
+		Material id = block.getType();
+		Trigger[] ts = ITEM_TYPE_TRIGGERS.get(id);
+		if (ts == null)
+			return;
+		if (sameColumn) {
+			Block fromBlock = getOnBlock(from);
+			if (fromBlock != null && fromBlock.getType() == id && getBlockY(to.getY(), id) == getBlockY(from.getY(), id))
 				return;
+		}
 
-			SkriptEventHandler.logEventStart(e);
-			triggersLoop: for (Trigger t : ts) {
-				EvtMoveOn se = (EvtMoveOn) t.getEvent();
-				for (ItemType i : se.types) {
-					if (i.isOfType(block)) {
-						SkriptEventHandler.logTriggerStart(t);
-						t.execute(e);
-						SkriptEventHandler.logTriggerEnd(t);
-						continue triggersLoop;
-					}
+		SkriptEventHandler.logEventStart(e);
+		triggersLoop: for (Trigger t : ts) {
+			EvtMoveOn se = (EvtMoveOn) t.getEvent();
+			for (ItemType i : se.types) {
+				if (i.isOfType(block)) {
+					SkriptEventHandler.logTriggerStart(t);
+					t.execute(e);
+					SkriptEventHandler.logTriggerEnd(t);
+					continue triggersLoop;
 				}
 			}
-			SkriptEventHandler.logEventEnd();
 		}
+		SkriptEventHandler.logEventEnd();
 	};
 
+	/**
+	 * @return Whether {@link #getOnBlock(Location)} returns the same block for both heights if the other coordinates are the same
+	 */
+	private static boolean isSameHeight(double y1, double y2) {
+		return Math.ceil(y1) == Math.ceil(y2) && Math.floor(y1) == Math.floor(y2) && isOnFence(y1) == isOnFence(y2);
+	}
+
+	private static boolean isOnFence(double y) {
+		return Math.abs((y - Math.floor(y)) - 0.5) < Skript.EPSILON;
+	}
+
 	@Nullable
 	private static Block getOnBlock(Location l) {
 		Block block = l.getWorld().getBlockAt(l.getBlockX(), (int) (Math.ceil(l.getY()) - 1), l.getBlockZ());
-		if (block.getType() == Material.AIR && Math.abs((l.getY() - l.getBlockY()) - 0.5) < Skript.EPSILON) { // Fences
+		if (block.getType() == Material.AIR && isOnFence(l.getY())) { // Fences
 			block = l.getWorld().getBlockAt(l.getBlockX(), l.getBlockY() - 1, l.getBlockZ());
 			if (!FENCE_PART.isOfType(block))
 				return null;
@@ -115,7 +134,7 @@ public class EvtMoveOn extends SelfRegisteringSkriptEvent { // TODO on jump
 	}
 	
 	private static int getBlockY(double y, Material id) {
-		if (FENCE_PART.isOfType(id) && Math.abs((y - Math.floor(y)) - 0.5) < Skript.EPSILON)
+		if (FENCE_PART.isOfType(id) && isOnFence(y))
 			return (int) Math.floor(y) - 1;
 		return (int) Math.ceil(y) - 1;
 	}
@@ -161,8 +180,14 @@ public class EvtMoveOn extends SelfRegisteringSkriptEvent { // TODO on jump
 		}
 
 		for (Material material : materialSet) {
-			List<Trigger> ts = ITEM_TYPE_TRIGGERS.computeIfAbsent(material, k -> new ArrayList<>());
-			ts.add(trigger);
+			Trigger[] ts = ITEM_TYPE_TRIGGERS.get(material);
+			if (ts == null) {
+				ts = new Trigger[] {trigger};
+			} else {
+				ts = Arrays.copyOf(ts, ts.length + 1);
+				ts[ts.length - 1] = trigger;
+			}
+			ITEM_TYPE_TRIGGERS.put(material, ts);
 		}
 
 		if (!registeredExecutor) {
@@ -173,12 +198,14 @@ public class EvtMoveOn extends SelfRegisteringSkriptEvent { // TODO on jump
 
 	@Override
 	public void unregister(Trigger t) {
-		Iterator<Entry<Material, List<Trigger>>> i2 = ITEM_TYPE_TRIGGERS.entrySet().iterator();
+		Iterator<Entry<Material, Trigger[]>> i2 = ITEM_TYPE_TRIGGERS.entrySet().iterator();
 		while (i2.hasNext()) {
-			List<Trigger> ts = i2.next().getValue();
-			ts.remove(t);
-			if (ts.isEmpty())
+			Entry<Material, Trigger[]> entry = i2.next();
+			Trigger[] ts = Arrays.stream(entry.getValue()).filter(trigger -> trigger != t).toArray(Trigger[]::new);
+			if (ts.length == 0)
 				i2.remove();
+			else
+				entry.setValue(ts);
 		}
 	}
 
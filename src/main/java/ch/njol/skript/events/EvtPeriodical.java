@@ -18,12 +18,12 @@
  */
 package ch.njol.skript.events;
 
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.SkriptEventHandler;
 import ch.njol.skript.events.bukkit.ScheduledEvent;
 import ch.njol.skript.events.bukkit.ScheduledNoWorldEvent;
@@ -31,6 +31,8 @@ import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SelfRegisteringSkriptEvent;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.Trigger;
+import ch.njol.skript.util.TickScheduler;
+import ch.njol.skript.util.TickScheduler.ScheduledTask;
 import ch.njol.skript.util.Timespan;
 
 /**
@@ -61,7 +63,12 @@ public class EvtPeriodical extends SelfRegisteringSkriptEvent {
 	@Nullable
 	private Trigger t;
 	@Nullable
-	private int[] taskIDs;
+	private ScheduledTask[] tasks;
+	
+	/**
+	 * Used to spread periodical events over the ticks of their period if {@link SkriptConfig#spreadPeriodicalEvents} is enabled.
+	 */
+	private static int spreadOffset = 0;
 	
 	@Nullable
 	private transient World[] worlds;
@@ -100,45 +107,35 @@ public class EvtPeriodical extends SelfRegisteringSkriptEvent {
 	@Override
 	public void register(final Trigger t) {
 		this.t = t;
-		int[] taskIDs;
+		long period = Math.max(1, this.period.getTicks_i());
+		ScheduledTask[] tasks;
 		if (worlds == null) {
-			taskIDs = new int[] {Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), new Runnable() {
-				@Override
-				public void run() {
-					execute(null);
-				}
-			}, period.getTicks_i(), period.getTicks_i())};
+			long delay = period;
+			if (SkriptConfig.spreadPeriodicalEvents.value() && period > 1)
+				delay = 1 + spreadOffset++ % period;
+			tasks = new ScheduledTask[] {TickScheduler.schedule(() -> execute(null), delay, period)};
 		} else {
-			taskIDs = new int[worlds.length];
+			tasks = new ScheduledTask[worlds.length];
 			for (int i = 0; i < worlds.length; i++) {
 				final World w = worlds[i];
-				taskIDs[i] = Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), new Runnable() {
-					@Override
-					public void run() {
-						execute(w);
-					}
-				}, period.getTicks_i() - (w.getFullTime() % period.getTicks_i()), period.getTicks_i());
-				assert worlds != null; // FindBugs
+				tasks[i] = TickScheduler.schedule(() -> execute(w), period - (w.getFullTime() % period), period);
 			}
 		}
-		this.taskIDs = taskIDs;
+		this.tasks = tasks;
 	}
 	
 	@Override
 	public void unregister(final Trigger t) {
 		assert t == this.t;
-		this.t = null;
-		assert taskIDs != null;
-		for (final int taskID : taskIDs)
-			Bukkit.getScheduler().cancelTask(taskID);
+		unregisterAll();
 	}
 	
 	@Override
 	public void unregisterAll() {
 		t = null;
-		assert taskIDs != null;
-		for (final int taskID : taskIDs)
-			Bukkit.getScheduler().cancelTask(taskID);
+		assert tasks != null;
+		for (final ScheduledTask task : tasks)
+			task.cancel();
 	}
 	
 	@Override
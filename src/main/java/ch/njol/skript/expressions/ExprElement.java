@@ -67,6 +67,8 @@ public class ExprElement extends SimpleExpression<Object> {
 	@Override
 	@Nullable
 	protected Object[] get(Event e) {
+		if (expr instanceof ExprFilter && (element == -1 || element == 2)) // Stop filtering once the element is found
+			return getFromFilter(e, (ExprFilter) expr);
 		Object[] os = expr.getArray(e);
 		if (os.length == 0)
 			return null;
@@ -88,6 +90,23 @@ public class ExprElement extends SimpleExpression<Object> {
 		return r;
 	}
 
+	@Nullable
+	private Object[] getFromFilter(Event e, ExprFilter filter) {
+		int index = 0;
+		if (element == 2) {
+			Number number = this.number.getSingle(e);
+			if (number == null || number.intValue() - 1 < 0)
+				return null;
+			index = number.intValue() - 1;
+		}
+		Object o = filter.getElement(e, index);
+		if (!getReturnType().isInstance(o))
+			return null;
+		Object[] r = (Object[]) Array.newInstance(getReturnType(), 1);
+		r[0] = o;
+		return r;
+	}
+
 	@Override
 	@Nullable
 	@SuppressWarnings("unchecked")
@@ -89,17 +89,40 @@ public class ExprFilter extends SimpleExpression<Object> {
 		return condition != null && LiteralUtils.canInitSafely(objects);
 	}
 
+	/**
+	 * Filters lazily, checking the condition only when the next element is requested.
+	 * Chained filters are iterated without creating an array for each filter in the chain.
+	 */
 	@NonNull
 	@Override
 	public Iterator<?> iterator(Event e) {
-		try {
-			return Iterators.filter(new ArrayIterator<>(this.objects.getArray(e)), object -> {
-				current = object;
+		return Iterators.filter(sourceIterator(e), object -> {
+			current = object;
+			try {
 				return condition.check(e);
-			});
-		} finally {
-			current = null;
-		}
+			} finally {
+				current = null;
+			}
+		});
+	}
+
+	private Iterator<?> sourceIterator(Event e) {
+		if (objects instanceof ExprFilter)
+			return objects.iterator(e);
+		return new ArrayIterator<>(objects.getArray(e));
+	}
+
+	/**
+	 * Gets an element matching the condition, without checking the condition for the elements after it.
+	 * @param index The index of the element to get, starting at 0
+	 * @return The element, or null if fewer elements match the condition
+	 */
+	@Nullable
+	public Object getElement(Event e, int index) {
+		Iterator<?> iterator = iterator(e);
+		for (int i = 0; i < index && iterator.hasNext(); i++)
+			iterator.next();
+		return iterator.hasNext() ? iterator.next() : null;
 	}
 
 	@Override
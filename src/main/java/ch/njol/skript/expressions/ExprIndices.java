@@ -34,6 +34,7 @@ import ch.njol.util.Kleenean;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -101,8 +102,9 @@ public class ExprIndices extends SimpleExpression<String> {
 
 		if (sort) {
 			int direction = descending ? -1 : 1;
+			Comparator<Object> comparator = Comparators.getResolvingJavaComparator();
 			return variable.entrySet().stream()
-				.sorted((a, b) -> compare(a, b, direction))
+				.sorted((a, b) -> comparator.compare(a.getValue(), b.getValue()) * direction)
 				.map(Entry::getKey)
 				.toArray(String[]::new);
 		}
@@ -129,9 +131,4 @@ public class ExprIndices extends SimpleExpression<String> {
 
 		return text;
 	}
-
-	// Extracted method for better readability
-	private int compare(Entry<String, Object> a, Entry<String, Object> b, int direction) {
-		return Comparators.compare(a.getValue(), b.getValue()).getRelation() * direction;
-	}
 }
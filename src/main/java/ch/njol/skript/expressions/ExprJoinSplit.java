@@ -33,6 +33,7 @@ import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.patterns.PatternCache;
 import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
 
@@ -87,7 +88,8 @@ public class ExprJoinSplit extends SimpleExpression<String> {
 		if (join) {
 			return new String[] {StringUtils.join(strings, delimiter)};
 		} else {
-			return strings[0].split(regex ? delimiter : (caseSensitivity ? "" : "(?i)") + Pattern.quote(delimiter), -1);
+			Pattern pattern = regex ? PatternCache.getRegex(delimiter) : PatternCache.getRegex(Pattern.quote(delimiter), caseSensitivity ? 0 : Pattern.CASE_INSENSITIVE);
+			return pattern.split(strings[0], -1);
 		}
 	}
 
@@ -45,6 +45,7 @@ import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.patterns.PatternCache;
 import ch.njol.util.Kleenean;
 import ch.njol.util.Math2;
 import ch.njol.util.StringUtils;
@@ -242,10 +243,10 @@ public class ExprLore extends SimpleExpression<String> {
 				return input.replace(toRemove, "");
 			} else {
 				// .replaceFirst requires the regex to be quoted, .replace does it internally
-				return input.replaceFirst(Pattern.quote(toRemove), "");
+				return PatternCache.getRegex(Pattern.quote(toRemove)).matcher(input).replaceFirst("");
 			}
 		} else {
-			final Matcher m = Pattern.compile(Pattern.quote(toRemove),
+			final Matcher m = PatternCache.getRegex(Pattern.quote(toRemove),
 					Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE).matcher(input);
 			return all ? m.replaceAll("") : m.replaceFirst("");
 		}
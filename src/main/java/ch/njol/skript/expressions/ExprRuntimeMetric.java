@@ -0,0 +1,91 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.expressions;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.timings.RuntimeMetrics;
+import ch.njol.util.Kleenean;
+
+@Name("Runtime Metric")
+@Description({"The current value of one of Skript's runtime metrics, e.g. 'skript_variable_reads_total' or 'skript_function_calls_total{function=\"example\"}'.",
+		"Metrics are only collected if 'runtime metrics' is enabled in the config. Unknown metrics have no value.",
+		"All available metrics and their values can be listed with <code>/skript metrics</code>."})
+@Examples({"every minute:",
+		"\tbroadcast \"Variable changes waiting to be saved: %runtime metric \"\"skript_variable_save_queue_size\"\"%\""})
+@Since("INSERT VERSION")
+public class ExprRuntimeMetric extends SimpleExpression<Number> {
+
+	static {
+		Skript.registerExpression(ExprRuntimeMetric.class, Number.class, ExpressionType.COMBINED,
+				"[the] [skript] runtime metric[s] %strings%");
+	}
+
+	@SuppressWarnings("null")
+	private Expression<String> names;
+
+	@Override
+	@SuppressWarnings({"unchecked", "null"})
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		names = (Expression<String>) exprs[0];
+		return true;
+	}
+
+	@Override
+	protected Number[] get(Event e) {
+		String[] names = this.names.getArray(e);
+		if (names.length == 0 || !RuntimeMetrics.isEnabled())
+			return new Number[0];
+		Map<String, Number> values = RuntimeMetrics.getValues();
+		return Arrays.stream(names)
+			.map(values::get)
+			.filter(Objects::nonNull)
+			.toArray(Number[]::new);
+	}
+
+	@Override
+	public boolean isSingle() {
+		return names.isSingle();
+	}
+
+	@Override
+	public Class<? extends Number> getReturnType() {
+		return Number.class;
+	}
+
+	@Override
+	public String toString(@Nullable Event e, boolean debug) {
+		return "runtime metric " + names.toString(e, debug);
+	}
+
+}
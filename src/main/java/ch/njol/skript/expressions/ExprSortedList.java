@@ -20,6 +20,7 @@ package ch.njol.skript.expressions;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.Comparator;
 
 import ch.njol.skript.util.LiteralUtils;
 import org.bukkit.event.Event;
@@ -48,6 +49,13 @@ public class ExprSortedList extends SimpleExpression<Object> {
 		Skript.registerExpression(ExprSortedList.class, Object.class, ExpressionType.COMBINED, "sorted %objects%");
 	}
 
+	private static final Comparator<Object> NUMBER_ORDER = (o1, o2) -> {
+		Number n1 = (Number) o1, n2 = (Number) o2;
+		if (n1 instanceof Long && n2 instanceof Long)
+			return Long.compare(n1.longValue(), n2.longValue());
+		return Double.compare(n1.doubleValue(), n2.doubleValue());
+	};
+
 	@SuppressWarnings("NotNullFieldNotInitialized")
 	private Expression<?> list;
 
@@ -63,15 +71,17 @@ public class ExprSortedList extends SimpleExpression<Object> {
 		Object[] unsorted = list.getArray(e);
 		Object[] sorted = (Object[]) Array.newInstance(getReturnType(), unsorted.length); // Not yet sorted...
 		
+		boolean numbers = true;
 		for (int i = 0; i < sorted.length; i++) {
 			Object value = unsorted[i];
-			if (value instanceof Long) {
-				// Hope it fits to the double...
-				sorted[i] = Double.valueOf(((Long) value).longValue());
-			} else {
-				// No conversion needed
-				sorted[i] = value;
-			}
+			numbers &= value instanceof Number;
+			sorted[i] = value;
+		}
+		
+		if (numbers) {
+			// Compare the primitive values directly instead of boxing every Long into a Double
+			Arrays.sort(sorted, NUMBER_ORDER);
+			return sorted;
 		}
 		
 		try {
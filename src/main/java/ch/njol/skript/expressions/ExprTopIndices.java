@@ -0,0 +1,191 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.expressions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+
+import org.bukkit.event.Event;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.config.Config;
+import ch.njol.skript.doc.Description;
+import ch.njol.skript.doc.Examples;
+import ch.njol.skript.doc.Name;
+import ch.njol.skript.doc.Since;
+import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.ExpressionType;
+import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.Variable;
+import ch.njol.skript.lang.util.SimpleExpression;
+import ch.njol.skript.registrations.Comparators;
+import ch.njol.skript.util.LiteralUtils;
+import ch.njol.skript.variables.Variables;
+import ch.njol.util.Kleenean;
+import ch.njol.util.NonNullPair;
+import ch.njol.util.StringUtils;
+
+@Name("Top Indices of List")
+@Description({
+	"Returns the indices (or values) of the entries with the highest or lowest values in a list variable, in order.",
+	"This is much faster than sorting the whole list when only the first few entries are needed, e.g. for leaderboards.",
+	"If 'maintain sorted list indices' is enabled in the config, global lists used with this expression are kept sorted",
+	"as they are changed, so getting their top entries doesn't need to look at the whole list at all."
+})
+@Examples({
+	"set {_top::*} to top 10 indices of {balance::*}",
+	"loop {_top::*}:",
+	"\tsend \"%loop-index%. %loop-value%: %{balance::%loop-value%}%\"",
+	"broadcast \"The lowest scores are %bottom 3 values of {scores::*}%\""
+})
+@Since("INSERT VERSION")
+public class ExprTopIndices extends SimpleExpression<Object> {
+
+	static {
+		Skript.registerExpression(ExprTopIndices.class, Object.class, ExpressionType.COMBINED,
+				"[the] (top|highest|1¦bottom|1¦lowest) %number% (indices|indexes) of %~objects%",
+				"[the] (top|highest|1¦bottom|1¦lowest) %number% values of %~objects%"
+		);
+	}
+
+	@SuppressWarnings("NotNullFieldNotInitialized")
+	private Expression<Number> amount;
+	@SuppressWarnings("NotNullFieldNotInitialized")
+	private Variable<?> list;
+
+	private boolean indices;
+	private boolean descending;
+
+	/**
+	 * The name of the indexed list without the trailing "::*", or null if the list is not indexed.
+	 */
+	@Nullable
+	private String indexedName;
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean init(Expression<?>[] exprs, int matchedPattern, Kleenean isDelayed, ParseResult parseResult) {
+		amount = (Expression<Number>) exprs[0];
+		indices = matchedPattern == 0;
+		descending = parseResult.mark != 1;
+		if (!(exprs[1] instanceof Variable<?>) || !((Variable<?>) exprs[1]).isList()) {
+			if (LiteralUtils.canInitSafely(exprs[1]))
+				Skript.error("The top indices expression may only be used with list variables");
+			return false;
+		}
+		list = (Variable<?>) exprs[1];
+
+		if (SkriptConfig.maintainSortedListIndices.value() && !list.isLocal() && list.getName().isSimple()) {
+			String name = StringUtils.substring(list.getName().getDefaultVariableName(), 0, -(Variable.SEPARATOR.length() + 1));
+			Config script = getParser().getCurrentScript();
+			Variables.addSortedListIndex(name, script == null ? null : script.getFile());
+			indexedName = name;
+		}
+		return true;
+	}
+
+	@Override
+	@Nullable
+	protected Object[] get(Event e) {
+		Number amount = this.amount.getSingle(e);
+		if (amount == null)
+			return null;
+		int n = amount.intValue();
+		if (n <= 0)
+			return new Object[0];
+
+		List<NonNullPair<String, Object>> entries = null;
+		String indexedName = this.indexedName;
+		if (indexedName != null)
+			entries = Variables.getSortedListEntries(indexedName, n, descending);
+		if (entries == null)
+			entries = getFirst(e, n);
+
+		Object[] result = indices ? new String[entries.size()] : new Object[entries.size()];
+		for (int i = 0; i < result.length; i++) {
+			NonNullPair<String, Object> entry = entries.get(i);
+			result[i] = indices ? entry.getFirst() : entry.getSecond();
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the first entries of the list using a heap bounded to the requested amount,
+	 * so only the wanted entries are ever sorted.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<NonNullPair<String, Object>> getFirst(Event e, int amount) {
+		Map<String, Object> variable = (Map<String, Object>) list.getRaw(e);
+		if (variable == null)
+			return Collections.emptyList();
+
+		Comparator<Object> values = Comparators.getResolvingJavaComparator();
+		Comparator<NonNullPair<String, Object>> order = (a, b) -> values.compare(a.getSecond(), b.getSecond());
+		if (descending)
+			order = order.reversed();
+
+		// The head of the heap is the entry which would be dropped first
+		PriorityQueue<NonNullPair<String, Object>> heap = new PriorityQueue<>(Math.min(amount, variable.size()) + 1, order.reversed());
+		for (Entry<String, Object> entry : variable.entrySet()) {
+			String index = entry.getKey();
+			Object value = entry.getValue();
+			if (index == null)
+				continue;
+			if (value instanceof Map)
+				value = ((Map<String, Object>) value).get(null);
+			if (value == null)
+				continue;
+			NonNullPair<String, Object> pair = new NonNullPair<>(index, value);
+			if (heap.size() < amount) {
+				heap.add(pair);
+			} else if (order.compare(pair, heap.peek()) < 0) {
+				heap.poll();
+				heap.add(pair);
+			}
+		}
+
+		List<NonNullPair<String, Object>> first = new ArrayList<>(heap);
+		first.sort(order);
+		return first;
+	}
+
+	@Override
+	public boolean isSingle() {
+		return false;
+	}
+
+	@Override
+	public Class<?> getReturnType() {
+		return indices ? String.class : list.getReturnType();
+	}
+
+	@Override
+	public String toString(@Nullable Event e, boolean debug) {
+		String text = (descending ? "top " : "bottom ") + amount.toString(e, debug);
+		return text + (indices ? " indices" : " values") + " of " + list.toString(e, debug);
+	}
+
+}
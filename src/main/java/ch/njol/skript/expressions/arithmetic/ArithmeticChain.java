@@ -46,8 +46,13 @@ public class ArithmeticChain implements ArithmeticGettable {
 	}
 	
 	@Override
-	public Number get(Event event, boolean integer) {
-		return operator.calculate(left.get(event, integer), right.get(event, integer), integer);
+	public long getLong(Event event) {
+		return operator.calculate(left.getLong(event), right.getLong(event));
+	}
+	
+	@Override
+	public double getDouble(Event event) {
+		return operator.calculate(left.getDouble(event), right.getDouble(event));
 	}
 	
 	@SuppressWarnings("unchecked")
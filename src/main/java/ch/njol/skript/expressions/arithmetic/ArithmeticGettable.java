@@ -22,6 +22,18 @@ import org.bukkit.event.Event;
 
 public interface ArithmeticGettable {
 	
-	Number get(Event event, boolean integer);
+	/**
+	 * Evaluates this part of the chain, boxing the result.
+	 * Prefer {@link #getLong(Event)} or {@link #getDouble(Event)} when the result doesn't need to be boxed.
+	 */
+	default Number get(Event event, boolean integer) {
+		if (integer)
+			return getLong(event);
+		return getDouble(event);
+	}
+	
+	long getLong(Event event);
+	
+	double getDouble(Event event);
 	
 }
@@ -18,7 +18,6 @@
  */
 package ch.njol.skript.expressions.arithmetic;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +32,7 @@ import ch.njol.skript.doc.Since;
 import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.Literal;
+import ch.njol.skript.lang.NumberExpression;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.lang.util.SimpleLiteral;
@@ -50,7 +50,7 @@ import ch.njol.util.Kleenean;
 		"message \"You have %health of player * 2% half hearts of HP!\""})
 @Since("1.4.2")
 @SuppressWarnings("null")
-public class ExprArithmetic extends SimpleExpression<Number> {
+public class ExprArithmetic extends SimpleExpression<Number> implements NumberExpression<Number> {
 	
 	private static final Class<?>[] INTEGER_CLASSES = {Long.class, Integer.class, Short.class, Byte.class};
 	
@@ -158,14 +158,26 @@ public class ExprArithmetic extends SimpleExpression<Number> {
 		return true;
 	}
 	
-	@SuppressWarnings("null")
 	@Override
 	protected Number[] get(final Event e) {
-		Number[] one = (Number[]) Array.newInstance(returnType, 1);
-		
-		one[0] = arithmeticGettable.get(e, returnType == Long.class);
-		
-		return one;
+		// Evaluate the whole chain using primitives, only boxing the final result
+		if (returnType == Long.class)
+			return new Long[] {arithmeticGettable.getLong(e)};
+		return new Double[] {arithmeticGettable.getDouble(e)};
+	}
+	
+	@Override
+	public long getLong(final Event e) {
+		if (returnType == Long.class)
+			return arithmeticGettable.getLong(e);
+		return (long) arithmeticGettable.getDouble(e);
+	}
+	
+	@Override
+	public double getDouble(final Event e) {
+		if (returnType == Long.class)
+			return arithmeticGettable.getLong(e);
+		return arithmeticGettable.getDouble(e);
 	}
 	
 	@Override
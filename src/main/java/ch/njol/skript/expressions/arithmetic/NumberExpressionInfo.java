@@ -21,6 +21,7 @@ package ch.njol.skript.expressions.arithmetic;
 import org.bukkit.event.Event;
 
 import ch.njol.skript.lang.Expression;
+import ch.njol.skript.lang.NumberExpression;
 
 public class NumberExpressionInfo implements ArithmeticGettable {
 	
@@ -31,9 +32,19 @@ public class NumberExpressionInfo implements ArithmeticGettable {
 	}
 	
 	@Override
-	public Number get(Event event, boolean integer) {
+	public long getLong(Event event) {
+		if (expression instanceof NumberExpression)
+			return ((NumberExpression<?>) expression).getLong(event);
 		Number number = expression.getSingle(event);
-		return number != null ? number : 0;
+		return number != null ? number.longValue() : 0;
+	}
+	
+	@Override
+	public double getDouble(Event event) {
+		if (expression instanceof NumberExpression)
+			return ((NumberExpression<?>) expression).getDouble(event);
+		Number number = expression.getSingle(event);
+		return number != null ? number.doubleValue() : 0;
 	}
 	
 }
@@ -22,52 +22,60 @@ package ch.njol.skript.expressions.arithmetic;
 public enum Operator {
 	
 	PLUS('+') {
-		@SuppressWarnings("null")
 		@Override
-		public Number calculate(final Number n1, final Number n2, final boolean integer) {
-			if (integer)
-				return Long.valueOf(n1.longValue() + n2.longValue());
-			return Double.valueOf(n1.doubleValue() + n2.doubleValue());
+		public long calculate(final long n1, final long n2) {
+			return n1 + n2;
+		}
+		
+		@Override
+		public double calculate(final double n1, final double n2) {
+			return n1 + n2;
 		}
 	},
 	MINUS('-') {
-		@SuppressWarnings("null")
 		@Override
-		public Number calculate(final Number n1, final Number n2, final boolean integer) {
-			if (integer)
-				return Long.valueOf(n1.longValue() - n2.longValue());
-			return Double.valueOf(n1.doubleValue() - n2.doubleValue());
+		public long calculate(final long n1, final long n2) {
+			return n1 - n2;
+		}
+		
+		@Override
+		public double calculate(final double n1, final double n2) {
+			return n1 - n2;
 		}
 	},
 	MULT('*') {
-		@SuppressWarnings("null")
 		@Override
-		public Number calculate(final Number n1, final Number n2, final boolean integer) {
-			if (integer)
-				return Long.valueOf(n1.longValue() * n2.longValue());
-			return Double.valueOf(n1.doubleValue() * n2.doubleValue());
+		public long calculate(final long n1, final long n2) {
+			return n1 * n2;
+		}
+		
+		@Override
+		public double calculate(final double n1, final double n2) {
+			return n1 * n2;
 		}
 	},
 	DIV('/') {
-		@SuppressWarnings("null")
 		@Override
-		public Number calculate(final Number n1, final Number n2, final boolean integer) {
-			if (integer) {
-				final long div = n2.longValue();
-				if (div == 0)
-					return Long.MAX_VALUE;
-				return Long.valueOf(n1.longValue() / div);
-			}
-			return Double.valueOf(n1.doubleValue() / n2.doubleValue());
+		public long calculate(final long n1, final long n2) {
+			if (n2 == 0)
+				return Long.MAX_VALUE;
+			return n1 / n2;
+		}
+		
+		@Override
+		public double calculate(final double n1, final double n2) {
+			return n1 / n2;
 		}
 	},
 	EXP('^') {
-		@SuppressWarnings("null")
 		@Override
-		public Number calculate(final Number n1, final Number n2, final boolean integer) {
-			if (integer)
-				return Long.valueOf((long) Math.pow(n1.longValue(), n2.longValue()));
-			return Double.valueOf(Math.pow(n1.doubleValue(), n2.doubleValue()));
+		public long calculate(final long n1, final long n2) {
+			return (long) Math.pow(n1, n2);
+		}
+		
+		@Override
+		public double calculate(final double n1, final double n2) {
+			return Math.pow(n1, n2);
 		}
 	};
 	
@@ -77,7 +85,22 @@ public enum Operator {
 		this.sign = sign;
 	}
 	
-	public abstract Number calculate(Number n1, Number n2, boolean integer);
+	@SuppressWarnings("null")
+	public Number calculate(final Number n1, final Number n2, final boolean integer) {
+		if (integer)
+			return Long.valueOf(calculate(n1.longValue(), n2.longValue()));
+		return Double.valueOf(calculate(n1.doubleValue(), n2.doubleValue()));
+	}
+	
+	/**
+	 * Calculates the result of this operator using integer arithmetic, without boxing.
+	 */
+	public abstract long calculate(long n1, long n2);
+	
+	/**
+	 * Calculates the result of this operator using floating point arithmetic, without boxing.
+	 */
+	public abstract double calculate(double n1, double n2);
 	
 	@Override
 	public String toString() {
@@ -20,10 +20,13 @@ package ch.njol.skript.hooks.regions.events;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventException;
@@ -138,6 +141,43 @@ public class EvtRegionBorder extends SelfRegisteringSkriptEvent {
 		me.setCancelled(e.isCancelled());
 	}
 	
+	/**
+	 * How long the regions a player was found in are used for the player's next move.
+	 * Region plugins don't notify about changes to regions, so the regions have to be looked up again eventually.
+	 */
+	private final static long REGION_CACHE_MILLIS = 1000;
+	
+	/**
+	 * The regions each player was in after their last move, which are the regions at the start of their next move.
+	 */
+	private final static Map<Player, CachedRegions> playerRegions = new WeakHashMap<>();
+	
+	private final static class CachedRegions {
+		
+		private final World world;
+		private final int x, y, z;
+		private final long time;
+		final Set<? extends Region> regions;
+		
+		CachedRegions(final Location l, final Set<? extends Region> regions, final long time) {
+			world = l.getWorld();
+			x = l.getBlockX();
+			y = l.getBlockY();
+			z = l.getBlockZ();
+			this.regions = regions;
+			this.time = time;
+		}
+		
+		boolean isValid(final Location l, final long now) {
+			return now - time < REGION_CACHE_MILLIS && l.getBlockX() == x && l.getBlockY() == y && l.getBlockZ() == z && l.getWorld() == world;
+		}
+		
+	}
+	
+	private static boolean isSameBlock(final Location l1, final Location l2) {
+		return l1.getBlockX() == l2.getBlockX() && l1.getBlockY() == l2.getBlockY() && l1.getBlockZ() == l2.getBlockZ() && l1.getWorld() == l2.getWorld();
+	}
+	
 	// even WorldGuard doesn't have events, and this way all region plugins are supported for sure.
 	private final static EventExecutor ee = new EventExecutor() {
 		@Nullable
@@ -151,11 +191,14 @@ public class EvtRegionBorder extends SelfRegisteringSkriptEvent {
 			last = event;
 			final PlayerMoveEvent e = (PlayerMoveEvent) event;
 			final Location to = e.getTo(), from = e.getFrom();
-			if (to != null && to.equals(from))
+			if (to == null || isSameBlock(to, from)) // regions consist of whole blocks
 				return;
-			//if (to.getWorld().equals(from.getWorld()) && to.distanceSquared(from) < 2)
-			//	return;
-			final Set<? extends Region> oldRs = RegionsPlugin.getRegionsAt(from), newRs = RegionsPlugin.getRegionsAt(to);
+			final Player p = e.getPlayer();
+			final long now = System.currentTimeMillis();
+			final CachedRegions cached = playerRegions.get(p);
+			final Set<? extends Region> oldRs = cached != null && cached.isValid(from, now) ? cached.regions : RegionsPlugin.getRegionsAt(from);
+			final Set<? extends Region> newRs = RegionsPlugin.getRegionsAt(to);
+			playerRegions.put(p, new CachedRegions(to, newRs, now));
 			for (final Region r : oldRs) {
 				if (!newRs.contains(r))
 					callEvent(r, e, false);
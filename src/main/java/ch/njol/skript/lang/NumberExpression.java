@@ -0,0 +1,50 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang;
+
+import org.bukkit.event.Event;
+
+/**
+ * An expression which can evaluate its single numeric value without boxing it.
+ * <p>
+ * Implementing this interface is optional. Numeric expressions that are commonly nested (e.g. arithmetic)
+ * implement it so that chains of them can be evaluated using primitives only. Callers must fall back to
+ * {@link #getSingle(Event)} for expressions that do not implement it.
+ *
+ * @param <T> The boxed number type of this expression
+ */
+public interface NumberExpression<T extends Number> extends Expression<T> {
+	
+	/**
+	 * Gets the single value of this expression as a long.
+	 * 
+	 * @param e The event
+	 * @return The value of this expression as a long, or 0 if it doesn't have a value for the given event
+	 */
+	long getLong(Event e);
+	
+	/**
+	 * Gets the single value of this expression as a double.
+	 * 
+	 * @param e The event
+	 * @return The value of this expression as a double, or 0 if it doesn't have a value for the given event
+	 */
+	double getDouble(Event e);
+	
+}
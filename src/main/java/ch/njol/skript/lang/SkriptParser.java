@@ -41,6 +41,7 @@ import ch.njol.skript.log.ParseLogHandler;
 import ch.njol.skript.log.RetainingLogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.patterns.MalformedPatternException;
+import ch.njol.skript.patterns.PatternCache;
 import ch.njol.skript.patterns.PatternCompiler;
 import ch.njol.skript.patterns.SkriptPattern;
 import ch.njol.skript.registrations.Classes;
@@ -65,6 +66,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -365,7 +367,7 @@ public class SkriptParser {
 						return r;
 					}
 					// Print errors, if we couldn't get the correct type
-					log.printError(e.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
+					log.printError(() -> e.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
 					return null;
 				}
 				log.clear();
@@ -564,7 +566,7 @@ public class SkriptParser {
 					}
 
 					// Print errors, if we couldn't get the correct type
-					log.printError(e.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
+					log.printError(() -> e.toString(null, false) + " " + Language.get("is") + " " + notOfType(types), ErrorQuality.NOT_AN_EXPRESSION);
 					return null;
 				}
 				log.clear();
@@ -976,6 +978,8 @@ public class SkriptParser {
 	 * Prints parse errors (i.e. must start a ParseLog before calling this method)
 	 */
 	public static boolean parseArguments(final String args, final ScriptCommand command, final ScriptCommandEvent event) {
+		if (command.getArgumentParser().parse(args, event))
+			return true;
 		final SkriptParser parser = new SkriptParser(args, PARSE_LITERALS, ParseContext.COMMAND);
 		final ParseResult res = parser.parse_i(command.getPattern(), 0, 0);
 		if (res == null)
@@ -999,7 +1003,16 @@ public class SkriptParser {
 	 */
 	@Nullable
 	public static ParseResult parse(final String text, final String pattern) {
-		return new SkriptParser(text, PARSE_LITERALS, ParseContext.COMMAND).parse_i(pattern, 0, 0);
+		return parse(text, PatternCache.getSkriptPattern(pattern));
+	}
+
+	/**
+	 * Parses the text as the given pattern with {@link ParseContext#COMMAND}.
+	 * Patterns that aren't known when loading scripts should be obtained from {@link PatternCache}.
+	 */
+	@Nullable
+	public static ParseResult parse(final String text, final SkriptPattern pattern) {
+		return new SkriptParser(text, PARSE_LITERALS, ParseContext.COMMAND).parse_i(pattern);
 	}
 
 	@Nullable
@@ -1250,13 +1263,21 @@ public class SkriptParser {
 		return i + 1;
 	}
 
-	private static final Map<String, SkriptPattern> patterns = new HashMap<>();
+	/**
+	 * Patterns of syntax elements, compiled when they're first used while loading scripts.
+	 * Patterns created at runtime go to {@link PatternCache} instead.
+	 */
+	private static final Map<String, SkriptPattern> patterns = new ConcurrentHashMap<>();
 
 	@Nullable
 	private ParseResult parse_i(String pattern, int i, int j) {
 		if (i != 0 || j != 0)
 			throw new IllegalArgumentException();
-		SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
+		return parse_i(patterns.computeIfAbsent(pattern, PatternCompiler::compile));
+	}
+
+	@Nullable
+	private ParseResult parse_i(SkriptPattern skriptPattern) {
 		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, flags, context);
 		if (matchResult == null)
 			return null;
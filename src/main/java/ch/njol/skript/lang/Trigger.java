@@ -24,6 +24,7 @@ import java.util.List;
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
+import ch.njol.skript.timings.RuntimeMetrics;
 import ch.njol.skript.variables.Variables;
 
 /**
@@ -53,7 +54,11 @@ public class Trigger extends TriggerSection {
 	 * @return false if an exception occurred.
 	 */
 	public boolean execute(Event event) {
+		boolean measure = RuntimeMetrics.isEnabled();
+		long start = measure ? System.nanoTime() : 0;
 		boolean success = TriggerItem.walk(this, event);
+		if (measure)
+			RuntimeMetrics.recordTrigger(event, System.nanoTime() - start);
 
 		// Clear local variables
 		Variables.removeLocals(event);
@@ -57,11 +57,11 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
-import java.util.TreeMap;
 
 /**
  * @author Peter Güttinger
@@ -352,7 +352,7 @@ public class Variable<T> implements Expression<T> {
 		Object val = Variables.getVariable(name + "*", e, local);
 		if (val == null)
 			return new EmptyIterator<>();
-		assert val instanceof TreeMap;
+		assert val instanceof Map;
 		// temporary list to prevent CMEs
 		@SuppressWarnings("unchecked")
 		Iterator<String> keys = new ArrayList<>(((Map<String, Object>) val).keySet()).iterator();
@@ -370,7 +370,7 @@ public class Variable<T> implements Expression<T> {
 					key = keys.next();
 					if (key != null) {
 						next = convertIfOldPlayer(name + key, e, Variables.getVariable(name + key, e, local));
-						if (next != null && !(next instanceof TreeMap))
+						if (next != null && !(next instanceof Map))
 							return true;
 					}
 				}
@@ -405,7 +405,7 @@ public class Variable<T> implements Expression<T> {
 		Object val = Variables.getVariable(name + "*", e, local);
 		if (val == null)
 			return new EmptyIterator<>();
-		assert val instanceof TreeMap;
+		assert val instanceof Map;
 		// temporary list to prevent CMEs
 		@SuppressWarnings("unchecked")
 		Iterator<String> keys = new ArrayList<>(((Map<String, Object>) val).keySet()).iterator();
@@ -425,7 +425,7 @@ public class Variable<T> implements Expression<T> {
 					if (key != null) {
 						next = Converters.convert(Variables.getVariable(name + key, e, local), types);
 						next = (T) convertIfOldPlayer(name + key, e, next);
-						if (next != null && !(next instanceof TreeMap))
+						if (next != null && !(next instanceof Map))
 							return true;
 					}
 				}
@@ -465,11 +465,17 @@ public class Variable<T> implements Expression<T> {
 		Variables.setVariable("" + name.toString(e), value, e, local);
 	}
 
-	private void setIndex(Event e, String index, @Nullable Object value) {
+	/**
+	 * Changes several elements of this list at once.
+	 * 
+	 * @param clear Whether to delete the whole list first
+	 * @param elements The indices and new values of the elements to change, <tt>null</tt> to delete an element
+	 */
+	private void setIndices(Event e, boolean clear, Map<String, Object> elements) {
 		assert list;
 		String s = name.toString(e);
 		assert s.endsWith("::*") : s + "; " + name;
-		Variables.setVariable(s.substring(0, s.length() - 1) + index, value, e, local);
+		Variables.setListVariable(s, clear, elements, e, local);
 	}
 
 	@Override
@@ -484,39 +490,25 @@ public class Variable<T> implements Expression<T> {
 	public void change(Event e, @Nullable Object[] delta, ChangeMode mode) throws UnsupportedOperationException {
 		switch (mode) {
 			case DELETE:
-				if (list) {
-					ArrayList<String> rem = new ArrayList<>();
-					Map<String, Object> o = (Map<String, Object>) getRaw(e);
-					if (o == null)
-						return;
-					for (Entry<String, Object> i : o.entrySet()) {
-						if (i.getKey() != null){
-							rem.add(i.getKey());
-						}
-					}
-					for (String r : rem) {
-						assert r != null;
-						setIndex(e, r, null);
-					}
-				}
-
+				// Deleting a list deletes all of its elements at once
 				set(e, null);
 				break;
 			case SET:
 				assert delta != null;
 				if (list) {
-					set(e, null);
+					Map<String, Object> elements = new LinkedHashMap<>();
 					int i = 1;
 					for (Object d : delta) {
 						if (d instanceof Object[]) {
 							for (int j = 0; j < ((Object[]) d).length; j++) {
-								setIndex(e, "" + i + SEPARATOR + j, ((Object[]) d)[j]);
+								elements.put("" + i + SEPARATOR + j, ((Object[]) d)[j]);
 							}
 						} else {
-							setIndex(e, "" + i, d);
+							elements.put("" + i, d);
 						}
 						i++;
 					}
+					setIndices(e, true, elements);
 				} else {
 					set(e, delta[0]);
 				}
@@ -546,7 +538,7 @@ public class Variable<T> implements Expression<T> {
 					if (mode == ChangeMode.REMOVE) {
 						if (o == null)
 							return;
-						ArrayList<String> rem = new ArrayList<>(); // prevents CMEs
+						Map<String, Object> rem = new LinkedHashMap<>(); // prevents CMEs
 						for (Object d : delta) {
 							for (Entry<String, Object> i : o.entrySet()) {
 								if (Relation.EQUAL.is(Comparators.compare(i.getValue(), d))) {
@@ -555,39 +547,37 @@ public class Variable<T> implements Expression<T> {
 										continue; // This is NOT a part of list variable
 
 									// Otherwise, we'll mark that key to be set to null
-									rem.add(key);
+									rem.put(key, null);
 									break;
 								}
 							}
 						}
-						for (String r : rem) {
-							assert r != null;
-							setIndex(e, r, null);
-						}
+						setIndices(e, false, rem);
 					} else if (mode == ChangeMode.REMOVE_ALL) {
 						if (o == null)
 							return;
-						ArrayList<String> rem = new ArrayList<>(); // prevents CMEs
+						Map<String, Object> rem = new LinkedHashMap<>(); // prevents CMEs
 						for (Entry<String, Object> i : o.entrySet()) {
+							if (i.getKey() == null)
+								continue; // This is NOT a part of list variable
 							for (Object d : delta) {
 								if (Relation.EQUAL.is(Comparators.compare(i.getValue(), d)))
-									rem.add(i.getKey());
+									rem.put(i.getKey(), null);
 							}
 						}
-						for (String r : rem) {
-							assert r != null;
-							setIndex(e, r, null);
-						}
+						setIndices(e, false, rem);
 					} else {
 						assert mode == ChangeMode.ADD;
+						Map<String, Object> elements = new LinkedHashMap<>();
 						int i = 1;
 						for (Object d : delta) {
 							if (o != null)
 								while (o.containsKey("" + i))
 									i++;
-							setIndex(e, "" + i, d);
+							elements.put("" + i, d);
 							i++;
 						}
+						setIndices(e, false, elements);
 					}
 				} else {
 					Object o = get(e);
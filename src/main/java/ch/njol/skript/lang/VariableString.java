@@ -44,7 +44,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a string that may contain expressions, and is thus "variable".
@@ -71,6 +73,18 @@ public class VariableString implements Expression<String> {
 	 * been evaluated here.
 	 */
 	private final MessageComponent[] components;
+	
+	/**
+	 * For each placeholder in {@link #components}, the index of the
+	 * expression in {@link #stringUnformatted} that it stands for.
+	 */
+	private final int[] slots;
+	
+	/**
+	 * Recently rendered messages, keyed by the texts of their expressions.
+	 */
+	@Nullable
+	private RenderCache renderCache;
 
 	/**
 	 * Creates a new VariableString which does not contain variables.
@@ -86,6 +100,7 @@ public class VariableString implements Expression<String> {
 		mode = StringMode.MESSAGE;
 		
 		components = new MessageComponent[] {ChatMessages.plainText(simpleUnformatted)};
+		slots = new int[0];
 	}
 	
 	/**
@@ -101,6 +116,8 @@ public class VariableString implements Expression<String> {
 		
 		// Construct unformatted string and components
 		List<MessageComponent> components = new ArrayList<>(string.length);
+		int[] slots = new int[string.length];
+		int slotCount = 0;
 		for (int i = 0; i < string.length; i++) {
 			Object o = string[i];
 			if (o instanceof String) {
@@ -109,12 +126,14 @@ public class VariableString implements Expression<String> {
 			} else {
 				this.string[i] = o;
 				components.add(null); // Not known parse-time
+				slots[slotCount++] = i;
 			}
 			
 			// For unformatted string, don't format stuff
 			this.stringUnformatted[i] = o;
 		}
 		this.components = components.toArray(new MessageComponent[0]);
+		this.slots = Arrays.copyOf(slots, slotCount);
 		
 		this.mode = mode;
 		
@@ -409,37 +428,68 @@ public class VariableString implements Expression<String> {
 	 * @return Message components.
 	 */
 	public List<MessageComponent> getMessageComponents(Event e) {
-		if (isSimple) { // Trusted, constant string in a script
-			assert simpleUnformatted != null;
-			return ChatMessages.parse(simpleUnformatted);
-		}
+		return ChatMessages.copy(render(e).components);
+	}
+	
+	/**
+	 * Renders this string to message components, reusing a previous result if
+	 * all expressions had the same text back then.
+	 */
+	private Rendered render(Event e) {
+		if (isSimple) // Trusted, constant string in a script
+			return renderCached(new String[0]);
+		
+		Object[] string = this.stringUnformatted;
+		assert string != null;
+		String[] texts = new String[slots.length];
+		for (int i = 0; i < slots.length; i++)
+			texts[i] = Classes.toString(((Expression<?>) string[slots[i]]).getArray(e), true, mode);
+		return renderCached(texts);
+	}
+	
+	private Rendered renderCached(String[] texts) {
+		List<String> key = Arrays.asList(texts);
+		int generation = ChatMessages.getCacheGeneration();
+		RenderCache cache = renderCache;
+		if (cache == null || cache.generation != generation)
+			renderCache = cache = new RenderCache(generation);
 		
-		// Parse formating
+		Rendered rendered;
+		synchronized (cache) {
+			rendered = cache.get(key);
+		}
+		if (rendered == null) {
+			if (isSimple) {
+				assert simpleUnformatted != null;
+				rendered = new Rendered(ChatMessages.parseToArray(simpleUnformatted));
+			} else {
+				rendered = new Rendered(assemble(texts));
+			}
+			synchronized (cache) {
+				cache.put(key, rendered);
+			}
+		}
+		return rendered;
+	}
+	
+	/**
+	 * Combines the pre-parsed literal parts of this string with the given texts of its expressions.
+	 */
+	private MessageComponent[] assemble(String[] texts) {
 		Object[] string = this.stringUnformatted;
 		assert string != null;
 		List<MessageComponent> message = new ArrayList<>(components.length); // At least this much space
-		int stringPart = -1;
-		MessageComponent previous = null;
+		int slot = 0;
 		for (MessageComponent component : components) {
 			if (component == null) { // This component holds place for variable part
-				// Go over previous expression part (stringPart >= 0) or take first part (stringPart == 0)
-				stringPart++;
-				if (previous != null) { // Also jump over literal part
-					stringPart++;
-				}
-				Object o = string[stringPart];
-				previous = null;
+				Object o = string[slots[slot]];
+				String text = texts[slot++];
 				
-				// Convert it to plain text
-				String text = null;
 				if (o instanceof ExprColoured && ((ExprColoured) o).isUnsafeFormat()) { // Special case: user wants to process formatting
-					String unformatted = Classes.toString(((ExprColoured) o).getArray(e), true, mode);
-					if (unformatted != null) {
-						message.addAll(ChatMessages.parse(unformatted));
+					if (text != null) {
+						message.addAll(ChatMessages.parse(text));
 					}
 					continue;
-				} else if (o instanceof Expression<?>) {
-					text = Classes.toString(((Expression<?>) o).getArray(e), true, mode);
 				}
 				
 				assert text != null;
@@ -460,11 +510,10 @@ public class VariableString implements Expression<String> {
 					ChatMessages.copyStyles(message.get(message.size() - 1), componentCopy);
 				}
 				message.add(componentCopy);
-				previous = componentCopy;
 			}
 		}
 		
-		return message;
+		return message.toArray(new MessageComponent[0]);
 	}
 	
 	/**
@@ -489,7 +538,46 @@ public class VariableString implements Expression<String> {
 	 * @return The input string with all expressions replaced.
 	 */
 	public String toChatString(Event e) {
-		return ChatMessages.toJson(getMessageComponents(e));
+		Rendered rendered = render(e);
+		String json = rendered.json;
+		if (json == null)
+			rendered.json = json = ChatMessages.toJson(Arrays.asList(rendered.components));
+		return json;
+	}
+	
+	/**
+	 * A rendered message. Its components are never handed out, only copies of them.
+	 */
+	private static final class Rendered {
+		
+		final MessageComponent[] components;
+		
+		@Nullable
+		String json;
+		
+		Rendered(MessageComponent[] components) {
+			this.components = components;
+		}
+		
+	}
+	
+	@SuppressWarnings("serial")
+	private static final class RenderCache extends LinkedHashMap<List<String>, Rendered> {
+		
+		private static final int MAX_SIZE = 8;
+		
+		final int generation;
+		
+		RenderCache(int generation) {
+			super(MAX_SIZE * 2, 0.75f, true);
+			this.generation = generation;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<String>, Rendered> eldest) {
+			return size() > MAX_SIZE;
+		}
+		
 	}
 	
 	@Nullable
@@ -25,6 +25,7 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.timings.RuntimeMetrics;
 import ch.njol.util.coll.CollectionUtils;
 
 /**
@@ -40,8 +41,16 @@ public abstract class Function<T> {
 
 	private final Signature<T> sign;
 	
+	/**
+	 * The cached results of this function if it is {@link #isPure() pure}, null otherwise.
+	 */
+	@Nullable
+	private ResultCache<T> cache;
+	
 	public Function(Signature<T> sign) {
 		this.sign = sign;
+		if (sign.isPure())
+			cache = new ResultCache<>();
 	}
 	
 	/**
@@ -74,6 +83,34 @@ public abstract class Function<T> {
 		return sign.getReturnType();
 	}
 	
+	/**
+	 * Pure functions always return the same result for the same parameters and have no side effects,
+	 * which allows their results to be cached.
+	 * 
+	 * @return Whether this function is pure
+	 */
+	public boolean isPure() {
+		return cache != null;
+	}
+	
+	/**
+	 * Declares this function to be {@link #isPure() pure}, i.e. to always return the same result for the same parameters
+	 * (as determined by their equals methods), and to not have any side effects.
+	 */
+	void setPure() {
+		if (cache == null)
+			cache = new ResultCache<>();
+	}
+	
+	/**
+	 * Discards all cached results of this function, if it is pure.
+	 */
+	public void clearCache() {
+		ResultCache<T> cache = this.cache;
+		if (cache != null)
+			cache.clear();
+	}
+	
 	// FIXME what happens with a delay in a function?
 	
 	/**
@@ -83,9 +120,10 @@ public abstract class Function<T> {
 	 * {@link Signature#getMaxParameters()} elements.
 	 * @return The result(s) of this function
 	 */
-	@SuppressWarnings("null")
+	@SuppressWarnings({"null", "unchecked"})
 	@Nullable
 	public final T[] execute(Object[][] params) {
+		RuntimeMetrics.FUNCTION_CALLS.increment(sign.getName());
 		FunctionEvent<? extends T> e = new FunctionEvent<>(this);
 		
 		// Call function event only if requested by addon
@@ -125,6 +163,16 @@ public abstract class Function<T> {
 			ps[i] = val;
 		}
 		
+		ResultCache<T> cache = this.cache;
+		if (cache != null) {
+			Object[] cached = cache.get(ps);
+			if (cached != null) {
+				RuntimeMetrics.FUNCTION_CACHE_HITS.increment(sign.getName());
+				return ResultCache.isEmpty(cached) ? null : (T[]) cached.clone();
+			}
+			RuntimeMetrics.FUNCTION_CACHE_MISSES.increment(sign.getName());
+		}
+		
 		// Execute function contents
 		T[] r = execute(e, ps);
 		// Assert that return value type makes sense
@@ -135,7 +183,10 @@ public abstract class Function<T> {
 				
 		// If return value is empty array, return null
 		// Otherwise, return the value (nullable)
-		return r == null || r.length > 0 ? r : null;
+		r = r == null || r.length > 0 ? r : null;
+		if (cache != null)
+			cache.put(ps, r);
+		return r;
 	}
 	
 	/**
@@ -20,6 +20,7 @@ package ch.njol.skript.lang.function;
 
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
+import org.eclipse.jdt.annotation.Nullable;
 
 public final class FunctionEvent<T> extends Event {
 	
@@ -28,6 +29,10 @@ public final class FunctionEvent<T> extends Event {
 	
 	private final Function<? extends T> function;
 	
+	private boolean returnValueSet;
+	@Nullable
+	private Object[] returnValue;
+	
 	public FunctionEvent(Function<? extends T> function) {
 		this.function = function;
 	}
@@ -36,6 +41,25 @@ public final class FunctionEvent<T> extends Event {
 		return function;
 	}
 	
+	/**
+	 * Sets the value returned by this call of a {@link ScriptFunction}.
+	 * Should only be called by {@link ch.njol.skript.effects.EffReturn}.
+	 */
+	void setReturnValue(@Nullable Object[] value) {
+		assert !returnValueSet;
+		returnValueSet = true;
+		returnValue = value;
+	}
+	
+	boolean isReturnValueSet() {
+		return returnValueSet;
+	}
+	
+	@Nullable
+	Object[] getReturnValue() {
+		return returnValue;
+	}
+	
 	@Override
 	public HandlerList getHandlers() {
 		return handlers;
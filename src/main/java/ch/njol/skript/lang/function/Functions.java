@@ -102,9 +102,18 @@ public abstract class Functions {
 	public final static String functionNamePattern = "[\\p{IsAlphabetic}][\\p{IsAlphabetic}\\p{IsDigit}_]*";
 	
 	@SuppressWarnings("null")
-	private final static Pattern functionPattern = Pattern.compile("function (" + functionNamePattern + ")\\((.*)\\)(?: :: (.+))?", Pattern.CASE_INSENSITIVE),
+	private final static Pattern functionPattern = Pattern.compile("(pure )?function (" + functionNamePattern + ")\\((.*)\\)(?: :: (.+))?", Pattern.CASE_INSENSITIVE),
 			paramPattern = Pattern.compile("\\s*(.+?)\\s*:(?=[^:]*$)\\s*(.+?)(?:\\s*=\\s*(.+))?\\s*");
 	
+	/**
+	 * @param key The key of a section in a script
+	 * @return Whether the section defines a function, e.g. <tt>function name(...)</tt> or <tt>pure function name(...)</tt>
+	 */
+	public static boolean isFunctionDefinition(String key) {
+		String lowerCase = key.toLowerCase(Locale.ENGLISH);
+		return lowerCase.startsWith("function ") || lowerCase.startsWith("pure function ");
+	}
+	
 	/**
 	 * Loads a script function from given node.
 	 * @param node Section node.
@@ -119,7 +128,7 @@ public abstract class Functions {
 		Matcher m = functionPattern.matcher(definition);
 		if (!m.matches()) // We have checks when loading the signature, but matches() must be called anyway
 			return null; // don't error, already done in signature loading
-		String name = "" + m.group(1);
+		String name = "" + m.group(2);
 		
 		Namespace namespace = globalFunctions.get(name);
 		if (namespace == null) {
@@ -157,7 +166,8 @@ public abstract class Functions {
 		Matcher m = functionPattern.matcher(definition);
 		if (!m.matches())
 			return signError(INVALID_FUNCTION_DEFINITION);
-		String name = "" + m.group(1);
+		boolean pure = m.group(1) != null;
+		String name = "" + m.group(2);
 		
 		// Ensure there are no duplicate functions
 		if (globalFunctions.containsKey(name)) {
@@ -171,8 +181,8 @@ public abstract class Functions {
 			}
 		}
 		
-		String args = m.group(2);
-		String returnType = m.group(3);
+		String args = m.group(3);
+		String returnType = m.group(4);
 		List<Parameter<?>> params = new ArrayList<>();
 		int j = 0;
 		for (int i = 0; i <= args.length(); i = SkriptParser.next(args, i, ParseContext.DEFAULT)) {
@@ -232,7 +242,7 @@ public abstract class Functions {
 		
 		@SuppressWarnings({"unchecked", "null"})
 		Signature<?> sign = new Signature<>(script, name,
-			params.toArray(new Parameter[0]), (ClassInfo<Object>) returnClass, singleReturn);
+			params.toArray(new Parameter[0]), (ClassInfo<Object>) returnClass, singleReturn, pure);
 
 		// Register this signature
 		Namespace.Key namespaceKey = new Namespace.Key(Namespace.Origin.SCRIPT, script);
@@ -313,6 +323,9 @@ public abstract class Functions {
 		// Remove references to this namespace from global functions
 		globalFunctions.values().removeIf(loopedNamespaced -> loopedNamespaced == namespace);
 		
+		// Results of pure functions in other scripts may depend on the removed functions
+		clearCaches();
+		
 		// Queue references to signatures we have for revalidation
 		// Can't validate here, because other scripts might be loaded soon
 		for (Signature<?> sign : namespace.getSignatures()) {
@@ -338,11 +351,24 @@ public abstract class Functions {
 		// Keep Java functions, remove everything else		
 		globalFunctions.values().removeIf(namespace -> namespace != javaNamespace);
 		namespaces.clear();
+		clearCaches();
 		
 		assert toValidate.isEmpty() : toValidate;
 		toValidate.clear();
 	}
 	
+	/**
+	 * Discards the cached results of all {@link Function#isPure() pure} functions.
+	 */
+	public static void clearCaches() {
+		for (Function<?> function : javaNamespace.getFunctions())
+			function.clearCache();
+		for (Namespace namespace : namespaces.values()) {
+			for (Function<?> function : namespace.getFunctions())
+				function.clearCache();
+		}
+	}
+	
 	@SuppressWarnings({"unchecked"})
 	public static Collection<JavaFunction<?>> getJavaFunctions() {
 		// We know there are only Java functions in that namespace
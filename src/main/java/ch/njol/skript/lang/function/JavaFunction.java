@@ -79,6 +79,19 @@ public abstract class JavaFunction<T> extends Function<T> {
 		return this;
 	}
 	
+	/**
+	 * Declares this function to be pure, which makes its results be cached.
+	 * Only use this for functions which are costly to execute, and which always return the same result
+	 * for equal parameters without having any side effects.
+	 *
+	 * @return This JavaFunction object
+	 * @see Function#isPure()
+	 */
+	public JavaFunction<T> pure() {
+		setPure();
+		return this;
+	}
+	
 	@Nullable
 	public String[] getDescription() {
 		return description;
@@ -0,0 +1,105 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.function;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A bounded cache of the results of a pure function, keyed by the values of its parameters.
+ * Least recently used results are evicted first.
+ * 
+ * @see Function#isPure()
+ */
+final class ResultCache<T> {
+	
+	/**
+	 * The maximum number of results cached per function.
+	 */
+	final static int MAX_SIZE = 256;
+	
+	/**
+	 * Marks results without any value, as null can't be distinguished from a missing entry.
+	 */
+	private final static Object[] NO_RESULT = new Object[0];
+	
+	private final Map<Key, Object[]> results = new LinkedHashMap<Key, Object[]>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		
+		@Override
+		protected boolean removeEldestEntry(@Nullable Map.Entry<Key, Object[]> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	
+	/**
+	 * @param params The values of the parameters, including default values
+	 * @return The result for the given parameters, {@link #NO_RESULT} if the function returned nothing, or null if not cached
+	 */
+	@Nullable
+	synchronized Object[] get(Object[][] params) {
+		return results.get(new Key(params));
+	}
+	
+	synchronized void put(Object[][] params, @Nullable T[] result) {
+		results.put(new Key(params.clone()), result == null ? NO_RESULT : result.clone());
+	}
+	
+	/**
+	 * @return Whether the given value returned by {@link #get(Object[][])} means that the function returned nothing
+	 */
+	static boolean isEmpty(Object[] result) {
+		return result == NO_RESULT;
+	}
+	
+	synchronized void clear() {
+		results.clear();
+	}
+	
+	private final static class Key {
+		
+		private final Object[][] params;
+		private final int hash;
+		
+		Key(Object[][] params) {
+			this.params = params;
+			hash = Arrays.deepHashCode(params);
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+		
+		@Override
+		public boolean equals(@Nullable Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return hash == other.hash && Arrays.deepEquals(params, other.params);
+		}
+		
+	}
+	
+}
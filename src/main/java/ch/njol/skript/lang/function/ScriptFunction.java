@@ -25,6 +25,7 @@ import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.effects.EffReturn;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.util.SimpleEvent;
+import ch.njol.skript.variables.LocalVariableSlot;
 import ch.njol.skript.variables.Variables;
 
 /**
@@ -34,9 +35,19 @@ public class ScriptFunction<T> extends Function<T> {
 	
 	private final Trigger trigger;
 	
+	/**
+	 * The local variables the parameters are stored in, resolved once instead of on every call.
+	 */
+	private final LocalVariableSlot[] parameterSlots;
+	
 	public ScriptFunction(Signature<T> sign, SectionNode node) {
 		super(sign);
 		
+		Parameter<?>[] parameters = sign.getParameters();
+		parameterSlots = new LocalVariableSlot[parameters.length];
+		for (int i = 0; i < parameters.length; i++)
+			parameterSlots[i] = new LocalVariableSlot(parameters[i].name, !parameters[i].single);
+		
 		Functions.currentFunction = this;
 		try {
 			trigger = new Trigger(
@@ -55,9 +66,22 @@ public class ScriptFunction<T> extends Function<T> {
 	@Nullable
 	private T[] returnValue = null;
 	
+	/**
+	 * Sets the value returned by the given call of this function.
+	 * Should only be called by {@link EffReturn}.
+	 */
+	public final void setReturnValue(FunctionEvent<?> e, @Nullable T[] value) {
+		e.setReturnValue(value);
+	}
+	
 	/**
 	 * Should only be called by {@link EffReturn}.
+	 * 
+	 * @deprecated This value is shared by all calls of this function,
+	 * which breaks if the function is called recursively or from multiple threads.
+	 * Use {@link #setReturnValue(FunctionEvent, Object[])} instead.
 	 */
+	@Deprecated
 	public final void setReturnValue(final @Nullable T[] value) {
 		assert !returnValueSet;
 		returnValueSet = true;
@@ -68,21 +92,13 @@ public class ScriptFunction<T> extends Function<T> {
 	// REM: use patterns, e.g. {_a%b%} is like "a.*", and thus subsequent {_axyz} may be set and of that type.
 	@Override
 	@Nullable
+	@SuppressWarnings("unchecked")
 	public T[] execute(final FunctionEvent<?> e, final Object[][] params) {
-		Parameter<?>[] parameters = getSignature().getParameters();
-		for (int i = 0; i < parameters.length; i++) {
-			Parameter<?> p = parameters[i];
-			Object[] val = params[i];
-			if (p.single && val.length > 0) {
-				Variables.setVariable(p.name, val[0], e, true);
-			} else {
-				for (int j = 0; j < val.length; j++) {
-					Variables.setVariable(p.name + "::" + (j + 1), val[j], e, true);
-				}
-			}
-		}
+		Variables.setLocalVariables(e, parameterSlots, params);
 		
 		trigger.execute(e);
+		if (e.isReturnValueSet())
+			return (T[]) e.getReturnValue();
 		return returnValue;
 	}
 
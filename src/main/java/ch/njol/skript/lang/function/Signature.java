@@ -64,12 +64,22 @@ public class Signature<T> {
 	 */
 	final Collection<FunctionReference<?>> calls;
 	
+	/**
+	 * Whether the function was declared to be pure, i.e. that its results may be cached.
+	 */
+	final boolean pure;
+	
 	public Signature(String script, String name, Parameter<?>[] parameters, @Nullable final ClassInfo<T> returnType, boolean single) {
+		this(script, name, parameters, returnType, single, false);
+	}
+	
+	public Signature(String script, String name, Parameter<?>[] parameters, @Nullable final ClassInfo<T> returnType, boolean single, boolean pure) {
 		this.script = script;
 		this.name = name;
 		this.parameters = parameters;
 		this.returnType = returnType;
 		this.single = single;
+		this.pure = pure;
 		
 		calls = Collections.newSetFromMap(new WeakHashMap<>());
 	}
@@ -96,6 +106,14 @@ public class Signature<T> {
 		return single;
 	}
 	
+	/**
+	 * @return Whether the function was declared to be pure
+	 * @see Function#isPure()
+	 */
+	public boolean isPure() {
+		return pure;
+	}
+	
 	/**
 	 * Gets maximum number of parameters that the function described by this
 	 * signature is able to take.
@@ -18,8 +18,9 @@
  */
 package ch.njol.skript.log;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.NoSuchElementException;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -28,21 +29,57 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 public class HandlerList implements Iterable<LogHandler> {
 	
-	private final LinkedList<LogHandler> list = new LinkedList<>();
+	/**
+	 * The active handlers, with the most recently started one at the end.
+	 */
+	private final ArrayList<LogHandler> list = new ArrayList<>();
 	
 	public void add(LogHandler h) {
-		list.addFirst(h);
+		list.add(h);
 	}
 	
 	@Nullable
 	public LogHandler remove() {
-		return list.pop();
+		if (list.isEmpty())
+			throw new NoSuchElementException();
+		return list.remove(list.size() - 1);
 	}
 	
-	@SuppressWarnings("null")
+	/**
+	 * @return The number of active handlers
+	 */
+	int size() {
+		return list.size();
+	}
+	
+	/**
+	 * @param index The index of the handler, with 0 being the most recently started one
+	 * @return The handler at the given index
+	 */
+	LogHandler get(int index) {
+		return list.get(list.size() - 1 - index);
+	}
+	
+	/**
+	 * Iterates the handlers starting with the most recently started one.
+	 */
 	@Override
 	public Iterator<LogHandler> iterator() {
-		return list.iterator();
+		return new Iterator<LogHandler>() {
+			private int next = 0;
+			
+			@Override
+			public boolean hasNext() {
+				return next < list.size();
+			}
+			
+			@Override
+			public LogHandler next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return get(next++);
+			}
+		};
 	}
 	
 	public boolean contains(LogHandler h) {
@@ -18,6 +18,7 @@
  */
 package ch.njol.skript.log;
 
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import ch.njol.skript.localization.ArgsMessage;
@@ -36,12 +37,23 @@ public class LogEntry {
 	public final Level level;
 	public final int quality;
 	
-	public final String message;
+	/**
+	 * The message of this entry, or null if it hasn't been built by the {@link #messageSupplier} yet.
+	 */
+	@Nullable
+	private String message;
+	
+	@Nullable
+	private Supplier<String> messageSupplier;
 	
 	@Nullable
 	public final Node node;
 	
-	private final String from;
+	/**
+	 * Where this entry was created, or null if it is deferred and hasn't been printed yet.
+	 */
+	@Nullable
+	private String from;
 	private final boolean tracked;
 
 	private static final String CONFIG_NODE = "skript command.reload";
@@ -83,6 +95,49 @@ public class LogEntry {
 		this.node = node;
 		this.tracked = tracked;
 		from = tracked || Skript.debug() ? findCaller() : "";
+		usageCheck = CHECK_USAGE ? new UsageCheck(this) : null;
+	}
+	
+	/**
+	 * Creates a deferred entry, whose message and caller are only determined once it's needed, e.g. when it's printed.
+	 * This is useful for errors which are expensive to build and likely to be discarded by a {@link ParseLogHandler}.
+	 */
+	public LogEntry(Level level, ErrorQuality quality, Supplier<String> message, @Nullable Node node) {
+		this.level = level;
+		this.quality = quality.quality();
+		this.messageSupplier = message;
+		this.node = node;
+		this.tracked = false;
+		usageCheck = CHECK_USAGE ? new UsageCheck(this) : null;
+	}
+	
+	/**
+	 * Whether to check that every entry is either logged or discarded, which is done when assertions are enabled.
+	 */
+	private static final boolean CHECK_USAGE = LogEntry.class.desiredAssertionStatus();
+	
+	@Nullable
+	@SuppressWarnings("unused")
+	private final UsageCheck usageCheck;
+	
+	/**
+	 * Checks that an entry has been used once it is garbage collected.
+	 * This is a separate object, as objects which override {@link Object#finalize()} are much more expensive
+	 * to create and to collect, and would thus slow down parsing even when assertions are disabled.
+	 */
+	private static final class UsageCheck {
+		
+		private final LogEntry entry;
+		
+		UsageCheck(LogEntry entry) {
+			this.entry = entry;
+		}
+		
+		@Override
+		protected void finalize() {
+			assert entry.used : entry.getMessage() + entry.getFrom();
+		}
+		
 	}
 	
 	private static final String skriptLogPackageName = "" + SkriptLogger.class.getPackage().getName();
@@ -111,40 +166,49 @@ public class LogEntry {
 	}
 	
 	public String getMessage() {
+		String message = this.message;
+		if (message == null) {
+			Supplier<String> messageSupplier = this.messageSupplier;
+			assert messageSupplier != null;
+			this.message = message = messageSupplier.get();
+			this.messageSupplier = null;
+		}
 		return message;
 	}
 	
+	private String getFrom() {
+		String from = this.from;
+		if (from == null)
+			this.from = from = tracked || Skript.debug() ? findCaller() : "";
+		return from;
+	}
+	
 	private boolean used = false;
 	
 	void discarded(String info) {
 		used = true;
 		if (tracked)
-			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from + " discarded" + findCaller() + "; " + (new Exception()).getStackTrace()[1] + "; " + info);
+			SkriptLogger.LOGGER.warning(" # LogEntry '" + getMessage() + "'" + getFrom() + " discarded" + findCaller() + "; " + (new Exception()).getStackTrace()[1] + "; " + info);
 	}
 	
 	void logged() {
 		used = true;
 		if (tracked)
-			SkriptLogger.LOGGER.warning(" # LogEntry '" + message + "'" + from + " logged" + findCaller());
-	}
-	
-	@Override
-	protected void finalize() {
-		assert used : message + from;
+			SkriptLogger.LOGGER.warning(" # LogEntry '" + getMessage() + "'" + getFrom() + " logged" + findCaller());
 	}
 	
 	@Override
 	public String toString() {
 		if (node == null || level.intValue() < Level.WARNING.intValue())
-			return message;
+			return getMessage();
 
 		Config c = node.getConfig();
-		return message + from + " (" + c.getFileName() + ", line " + node.getLine() + ": " + node.save().trim() + "')";
+		return getMessage() + getFrom() + " (" + c.getFileName() + ", line " + node.getLine() + ": " + node.save().trim() + "')";
 	}
 
 	public String toFormattedString() {
 		if (node == null || level.intValue() < Level.WARNING.intValue())
-			return message;
+			return getMessage();
 
 		Config c = node.getConfig();
 
@@ -159,7 +223,7 @@ public class LogEntry {
 			details = OTHER_DETAILS;
 		}
 
-		String from = this.from;
+		String from = getFrom();
 		if (!from.isEmpty())
 			from = "§7   " + from + "\n";
 
@@ -170,7 +234,7 @@ public class LogEntry {
 
 		return
 			String.format(lineInfoMsg, String.valueOf(node.getLine()), c.getFileName()) + // String.valueOf is to convert the line number (int) to a String
-			String.format(detailsMsg, message.replaceAll("§", "&")) + from +
+			String.format(detailsMsg, getMessage().replaceAll("§", "&")) + from +
 			String.format(lineDetailsMsg, node.save().trim().replaceAll("§", "&"));
 	}
 
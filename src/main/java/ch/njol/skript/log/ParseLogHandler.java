@@ -23,6 +23,7 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class ParseLogHandler extends LogHandler {
@@ -109,13 +110,24 @@ public class ParseLogHandler extends LogHandler {
 	}
 	
 	public void printError(String def, ErrorQuality quality) {
+		printError(() -> def, quality);
+	}
+	
+	/**
+	 * Prints the best error, or the given error if no error of at least the given quality has been logged.
+	 * 
+	 * @param def Supplies the error to log otherwise. Only called once the error is actually printed,
+	 *            so that errors which are expensive to build don't slow down parsing if an outer handler discards them.
+	 * @param quality The quality of the given error
+	 */
+	public void printError(Supplier<String> def, ErrorQuality quality) {
 		printedErrorOrLog = true;
 		stop();
 		LogEntry error = this.error;
 		if (error != null && error.quality >= quality.quality())
 			SkriptLogger.log(error);
 		else
-			SkriptLogger.log(new LogEntry(SkriptLogger.SEVERE, quality, def));
+			SkriptLogger.log(new LogEntry(SkriptLogger.SEVERE, quality, def, SkriptLogger.getNode()));
 		for (LogEntry e : log)
 			e.discarded("not printed");
 	}
@@ -170,7 +170,9 @@ public abstract class SkriptLogger {
 			return;
 		if (Skript.testing() && getNode() != null && getNode().debug())
 			System.out.print("---> " + entry.level + "/" + ErrorQuality.get(entry.quality) + ": " + entry + " ::" + LogEntry.findCaller());
-		for (LogHandler h : getHandlers()) {
+		HandlerList handlers = getHandlers();
+		for (int i = 0; i < handlers.size(); i++) { // Not using an iterator, as this is called very often
+			LogHandler h = handlers.get(i);
 			LogResult r = h.log(entry);
 			switch (r) {
 				case CACHED:
@@ -0,0 +1,168 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.patterns;
+
+import ch.njol.skript.timings.RuntimeMetrics;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A bounded cache of patterns compiled while scripts are running, e.g. from user input or variables.
+ * This is kept separate from the patterns compiled while loading scripts,
+ * so that dynamic patterns are evicted instead of being kept forever.
+ * Least recently used patterns are evicted first. All methods are thread-safe.
+ */
+public final class PatternCache {
+
+	/**
+	 * The maximum amount of patterns of each kind kept in the cache.
+	 */
+	public static final int MAX_SIZE = 256;
+
+	private static final Cache<String, SkriptPattern> skriptPatterns = new Cache<>();
+	private static final Cache<RegexKey, Pattern> regexes = new Cache<>();
+
+	static {
+		RuntimeMetrics.registerGauge("skript_pattern_cache_hit_ratio", "The fraction of lookups of patterns compiled at runtime which were cached", PatternCache::getHitRatio);
+	}
+
+	private PatternCache() {}
+
+	/**
+	 * Gets a compiled Skript pattern, compiling it if it's not cached.
+	 * @throws MalformedPatternException If the pattern is invalid
+	 */
+	public static SkriptPattern getSkriptPattern(String pattern) {
+		return skriptPatterns.get(pattern, PatternCompiler::compile);
+	}
+
+	/**
+	 * Gets a compiled regular expression, compiling it if it's not cached.
+	 * @throws PatternSyntaxException If the regex is invalid
+	 */
+	public static Pattern getRegex(String regex) {
+		return getRegex(regex, 0);
+	}
+
+	/**
+	 * Gets a compiled regular expression, compiling it if it's not cached.
+	 * @param flags The flags to compile the regex with, see {@link Pattern#compile(String, int)}
+	 * @throws PatternSyntaxException If the regex is invalid
+	 */
+	public static Pattern getRegex(String regex, int flags) {
+		return regexes.get(new RegexKey(regex, flags), key -> Pattern.compile(key.regex, key.flags));
+	}
+
+	/**
+	 * @return The amount of lookups that found a cached pattern, counted while runtime metrics are enabled
+	 */
+	public static long getHits() {
+		return RuntimeMetrics.PATTERN_CACHE_HITS.getTotal();
+	}
+
+	/**
+	 * @return The amount of lookups that had to compile the pattern, counted while runtime metrics are enabled
+	 */
+	public static long getMisses() {
+		return RuntimeMetrics.PATTERN_CACHE_MISSES.getTotal();
+	}
+
+	/**
+	 * @return The fraction of lookups that found a cached pattern, or 0 if there were no lookups yet
+	 */
+	public static double getHitRatio() {
+		long hits = getHits(), total = hits + getMisses();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	public static void clear() {
+		skriptPatterns.clear();
+		regexes.clear();
+	}
+
+	private static final class Cache<K, V> {
+
+		private final Map<K, V> values = new LinkedHashMap<K, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > MAX_SIZE;
+			}
+		};
+
+		V get(K key, Function<K, V> compiler) {
+			V value;
+			synchronized (values) {
+				value = values.get(key);
+			}
+			if (value != null) {
+				RuntimeMetrics.PATTERN_CACHE_HITS.increment();
+				return value;
+			}
+			RuntimeMetrics.PATTERN_CACHE_MISSES.increment();
+			// Compiled outside of the lock, as compiling may be slow. Another thread compiling the same pattern is harmless.
+			value = compiler.apply(key);
+			synchronized (values) {
+				values.put(key, value);
+			}
+			return value;
+		}
+
+		void clear() {
+			synchronized (values) {
+				values.clear();
+			}
+		}
+
+	}
+
+	private static final class RegexKey {
+
+		private final String regex;
+		private final int flags;
+
+		RegexKey(String regex, int flags) {
+			this.regex = regex;
+			this.flags = flags;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * regex.hashCode() + flags;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof RegexKey))
+				return false;
+			RegexKey other = (RegexKey) obj;
+			return flags == other.flags && regex.equals(other.regex);
+		}
+
+	}
+
+}
@@ -34,7 +34,9 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.bukkit.Bukkit;
@@ -78,7 +80,10 @@ public abstract class Classes {
 	private static ClassInfo<?>[] classInfos = null;
 	private final static List<ClassInfo<?>> tempClassInfos = new ArrayList<>();
 	private final static HashMap<Class<?>, ClassInfo<?>> exactClassInfos = new HashMap<>();
-	private final static HashMap<Class<?>, ClassInfo<?>> superClassInfos = new HashMap<>();
+	/**
+	 * Filled lazily by {@link #getSuperClassInfo(Class)}, which is also called by the threads serialising variables.
+	 */
+	private final static Map<Class<?>, ClassInfo<?>> superClassInfos = new ConcurrentHashMap<>();
 	private final static HashMap<String, ClassInfo<?>> classInfosByCodeName = new HashMap<>();
 	
 	/**
@@ -695,9 +700,6 @@ public abstract class Classes {
 		if (o == null)
 			return null;
 		
-		// temporary
-		assert Bukkit.isPrimaryThread();
-		
 		ClassInfo<?> ci = getSuperClassInfo(o.getClass());
 		if (ci.getSerializeAs() != null) {
 			ci = getExactClassInfo(ci.getSerializeAs());
@@ -719,20 +721,24 @@ public abstract class Classes {
 		assert s.mustSyncDeserialization() ? Bukkit.isPrimaryThread() : true;
 		
 		try {
-			final ByteArrayOutputStream bout = new ByteArrayOutputStream();
-			final YggdrasilOutputStream yout = Variables.yggdrasil.newOutputStream(bout);
-			yout.writeObject(o);
-			yout.flush();
-			yout.close();
-			final byte[] r = bout.toByteArray();
-			final byte[] start = getYggdrasilStart(ci);
-			for (int i = 0; i < start.length; i++)
-				assert r[i] == start[i] : o + " (" + ci.getC().getName() + "); " + Arrays.toString(start) + ", " + Arrays.toString(r);
-			final byte[] r2 = new byte[r.length - start.length];
-			System.arraycopy(r, start.length, r2, 0, r2.length);
+			final byte[] r2;
+			if (ci.getC() == o.getClass() && (o instanceof String || Tag.getType(o.getClass()).isWrapper())) {
+				r2 = serializeValue(o);
+			} else {
+				final SerializationBuffer bout = serializationBuffers.get();
+				bout.reset();
+				final YggdrasilOutputStream yout = Variables.yggdrasil.newOutputStream(bout);
+				yout.writeObject(o);
+				yout.flush();
+				yout.close();
+				final byte[] start = getYggdrasilStart(ci);
+				assert bout.startsWith(start) : o + " (" + ci.getC().getName() + "); " + Arrays.toString(start) + ", " + Arrays.toString(bout.toByteArray());
+				r2 = bout.toByteArray(start.length);
+				bout.trim();
+			}
 			
 			Object d;
-			assert equals(o, d = deserialize(ci, new ByteArrayInputStream(r2))) : o + " (" + o.getClass() + ") != " + d + " (" + (d == null ? null : d.getClass()) + "): " + Arrays.toString(r);
+			assert equals(o, d = deserialize(ci, new ByteArrayInputStream(r2))) : o + " (" + o.getClass() + ") != " + d + " (" + (d == null ? null : d.getClass()) + "): " + Arrays.toString(r2);
 			
 			return new SerializedVariable.Value(ci.getCodeName(), r2);
 		} catch (final IOException e) { // shouldn't happen
@@ -741,6 +747,91 @@ public abstract class Classes {
 		}
 	}
 	
+	/**
+	 * Reusable output buffers for {@link #serialize(Object)}, one per serialising thread.
+	 */
+	private final static ThreadLocal<SerializationBuffer> serializationBuffers = ThreadLocal.withInitial(SerializationBuffer::new);
+	
+	private final static class SerializationBuffer extends ByteArrayOutputStream {
+		
+		/**
+		 * Buffers which grew larger than this are discarded after use to not keep a single huge value in memory.
+		 */
+		private final static int MAX_RETAINED_SIZE = 1 << 16;
+		
+		SerializationBuffer() {
+			super(256);
+		}
+		
+		boolean startsWith(final byte[] start) {
+			if (count < start.length)
+				return false;
+			for (int i = 0; i < start.length; i++) {
+				if (buf[i] != start[i])
+					return false;
+			}
+			return true;
+		}
+		
+		byte[] toByteArray(final int offset) {
+			return Arrays.copyOfRange(buf, offset, count);
+		}
+		
+		void trim() {
+			if (buf.length > MAX_RETAINED_SIZE)
+				buf = new byte[256];
+		}
+		
+		@Override
+		public void close() {} // reused
+		
+	}
+	
+	/**
+	 * Encodes a string or a wrapped primitive without creating a Yggdrasil stream.
+	 * The result is identical to what {@link ch.njol.yggdrasil.DefaultYggdrasilOutputStream} writes after the {@link #getYggdrasilStart(ClassInfo) start} of the value.
+	 */
+	private static byte[] serializeValue(final Object o) {
+		if (o instanceof String) {
+			final byte[] d = ((String) o).getBytes(UTF_8);
+			final int header = d.length <= 0x7FFF ? 2 : 4;
+			final byte[] r = new byte[header + d.length];
+			if (header == 2)
+				putBigEndian(r, 0x8000 | d.length, 2);
+			else
+				putBigEndian(r, d.length, 4);
+			System.arraycopy(d, 0, r, header, d.length);
+			return r;
+		}
+		switch (Tag.getType(o.getClass())) {
+			case T_BYTE_OBJ:
+				return new byte[] {(Byte) o};
+			case T_SHORT_OBJ:
+				return putBigEndian(new byte[2], (Short) o, 2);
+			case T_INT_OBJ:
+				return putBigEndian(new byte[4], (Integer) o, 4);
+			case T_LONG_OBJ:
+				return putBigEndian(new byte[8], (Long) o, 8);
+			case T_FLOAT_OBJ:
+				return putBigEndian(new byte[4], Float.floatToIntBits((Float) o), 4);
+			case T_DOUBLE_OBJ:
+				return putBigEndian(new byte[8], Double.doubleToLongBits((Double) o), 8);
+			case T_CHAR_OBJ:
+				return putBigEndian(new byte[2], (Character) o, 2);
+			case T_BOOLEAN_OBJ:
+				return new byte[] {(byte) ((Boolean) o ? 1 : 0)};
+			//$CASES-OMITTED$
+			default:
+				throw new IllegalArgumentException("" + o.getClass());
+		}
+	}
+	
+	private static byte[] putBigEndian(final byte[] r, final long value, final int length) {
+		for (int i = 0; i < length; i++)
+			r[i] = (byte) (value >>> (8 * (length - 1 - i)));
+		return r;
+	}
+	
 	private static boolean equals(final @Nullable Object o, final @Nullable Object d) {
 		if (o instanceof Chunk) { // CraftChunk does neither override equals nor is it a "coordinate-specific singleton" like Block
 			if (!(d instanceof Chunk))
@@ -79,6 +79,45 @@ public class Comparators {
 		return javaComparator;
 	}
 	
+	/**
+	 * Creates a Java comparator which resolves the {@link Comparator} for a pair of classes only once,
+	 * and reuses it for as long as consecutive comparisons are made between objects of the same classes.
+	 * This is much cheaper than {@link #getJavaComparator()} when sorting lists of a single type.
+	 * <p>
+	 * The returned comparator is not thread-safe, so a new one should be created for every sort.
+	 * 
+	 * @return A new comparator which orders objects by their {@link Relation}
+	 */
+	public static java.util.Comparator<Object> getResolvingJavaComparator() {
+		return new ResolvingJavaComparator();
+	}
+	
+	private final static class ResolvingJavaComparator implements java.util.Comparator<Object> {
+		
+		@Nullable
+		private Class<?> lastFirst, lastSecond;
+		@SuppressWarnings("rawtypes")
+		@Nullable
+		private Comparator lastComparator;
+		
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		@Override
+		public int compare(final @Nullable Object o1, final @Nullable Object o2) {
+			if (o1 == null || o2 == null)
+				return Relation.NOT_EQUAL.getRelation();
+			Comparator c = lastComparator;
+			if (o1.getClass() != lastFirst || o2.getClass() != lastSecond) {
+				lastFirst = o1.getClass();
+				lastSecond = o2.getClass();
+				lastComparator = c = getComparator(o1.getClass(), o2.getClass());
+			}
+			if (c == null)
+				return Relation.NOT_EQUAL.getRelation();
+			return c.compare(o1, o2).getRelation();
+		}
+		
+	}
+	
 	private final static Map<Pair<Class<?>, Class<?>>, Comparator<?, ?>> comparatorsQuickAccess = new HashMap<>();
 	
 	@SuppressWarnings("unchecked")
@@ -22,9 +22,10 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -255,7 +256,11 @@ public abstract class Converters {
 			throw new ClassCastException();
 	}
 
-	private final static Map<Pair<Class<?>, Class<?>>, ConverterInfo<?, ?>> convertersCache = new HashMap<>();
+	/**
+	 * Converters by the classes they convert between. Concurrent, as variables are converted for saving on other threads.
+	 * An empty value denotes the nonexistence of a converter.
+	 */
+	private final static Map<Pair<Class<?>, Class<?>>, Optional<ConverterInfo<?, ?>>> convertersCache = new ConcurrentHashMap<>();
 	
 	/**
 	 * Tests whether a converter between the given classes exists.
@@ -303,10 +308,11 @@ public abstract class Converters {
 	@Nullable
 	public static <F, T> ConverterInfo<? super F, ? extends T> getConverterInfo(Class<F> from, Class<T> to) {
 		Pair<Class<?>, Class<?>> p = new Pair<>(from, to);
-		if (convertersCache.containsKey(p)) // can contain null to denote nonexistence of a converter
-			return (ConverterInfo<? super F, ? extends T>) convertersCache.get(p);
+		Optional<ConverterInfo<?, ?>> cached = convertersCache.get(p);
+		if (cached != null)
+			return (ConverterInfo<? super F, ? extends T>) cached.orElse(null);
 		ConverterInfo<? super F, ? extends T> c = lookupConverterInfo(from, to);
-		convertersCache.put(p, c);
+		convertersCache.put(p, Optional.ofNullable(c));
 		return c;
 	}
 	
@@ -21,6 +21,8 @@ package ch.njol.skript.registrations;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
@@ -164,6 +166,7 @@ public class EventValues {
 	@SafeVarargs
 	public static <T, E extends Event> void registerEventValue(Class<E> e, Class<T> c, Getter<T, E> g, int time, @Nullable String excludeErrorMessage, @Nullable Class<? extends E>... excludes) {
 		Skript.checkAcceptRegistrations();
+		resolutions.clear();
 		List<EventValueInfo<?, ?>> eventValues = getEventValuesList(time);
 		for (int i = 0; i < eventValues.size(); i++) {
 			EventValueInfo<?, ?> info = eventValues.get(i);
@@ -218,27 +221,82 @@ public class EventValues {
 	@SuppressWarnings("unchecked")
 	@Nullable
 	private static <T, E extends Event> Getter<? extends T, ? super E> getEventValueGetter(Class<E> e, Class<T> c, int time, boolean allowDefault) {
+		Resolution resolution = getResolution(e, c, time, allowDefault);
+		if (resolution.excludedBy != null) {
+			Skript.error(resolution.excludedBy.excludeErrorMessage);
+			return null;
+		}
+		return (Getter<? extends T, ? super E>) resolution.getter;
+	}
+	
+	/**
+	 * The result of looking up an event value getter, which may also be that there is none.
+	 */
+	private final static class Resolution {
+		
+		final static Resolution NONE = new Resolution(null, null);
+		
+		@Nullable
+		final Getter<?, ?> getter;
+		
+		/**
+		 * The event value which is excluded for the event, and whose error should be printed instead of using any getter.
+		 */
+		@Nullable
+		final EventValueInfo<?, ?> excludedBy;
+		
+		Resolution(@Nullable Getter<?, ?> getter, @Nullable EventValueInfo<?, ?> excludedBy) {
+			this.getter = getter;
+			this.excludedBy = excludedBy;
+		}
+		
+	}
+	
+	/**
+	 * Resolved getters by event class and value class. The arrays hold the resolutions for each time,
+	 * with and without falling back to the default time, as indexed by {@link #getResolutionIndex(int, boolean)}.
+	 * <p>
+	 * Filled lazily and cleared whenever an event value is registered.
+	 */
+	private final static Map<Class<? extends Event>, Map<Class<?>, Resolution[]>> resolutions = new ConcurrentHashMap<>();
+	
+	private static int getResolutionIndex(int time, boolean allowDefault) {
+		return (time + 1) * 2 + (allowDefault ? 1 : 0);
+	}
+	
+	private static Resolution getResolution(Class<? extends Event> e, Class<?> c, int time, boolean allowDefault) {
+		Resolution[] byTime = resolutions.computeIfAbsent(e, k -> new ConcurrentHashMap<>())
+			.computeIfAbsent(c, k -> new Resolution[6]);
+		int index = getResolutionIndex(time, allowDefault);
+		Resolution resolution = byTime[index];
+		if (resolution == null) // Races are harmless, as resolutions are immutable and resolving is deterministic
+			byTime[index] = resolution = resolve(e, c, time, allowDefault);
+		return resolution;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T, E extends Event> Resolution resolve(Class<E> e, Class<T> c, int time, boolean allowDefault) {
 		List<EventValueInfo<?, ?>> eventValues = getEventValuesList(time);
 		// First check for exact classes matching the parameters.
 		for (EventValueInfo<?, ?> ev : eventValues) {
 			if (!c.equals(ev.c))
 				continue;
-			if (!checkExcludes(ev, e))
-				return null;
+			if (isExcluded(ev, e))
+				return new Resolution(null, ev);
 			if (ev.event.isAssignableFrom(e))
-				return (Getter<? extends T, ? super E>) ev.getter;
+				return new Resolution(ev.getter, null);
 		}
 		// Second check for assignable subclasses.
 		for (EventValueInfo<?, ?> ev : eventValues) {
 			if (!c.isAssignableFrom(ev.c))
 				continue;
-			if (!checkExcludes(ev, e))
-				return null;
+			if (isExcluded(ev, e))
+				return new Resolution(null, ev);
 			if (ev.event.isAssignableFrom(e))
-				return (Getter<? extends T, ? super E>) ev.getter;
+				return new Resolution(ev.getter, null);
 			if (!e.isAssignableFrom(ev.event))
 				continue;
-			return new Getter<T, E>() {
+			return new Resolution(new Getter<T, E>() {
 				@Override
 				@Nullable
 				public T get(E event) {
@@ -246,7 +304,7 @@ public class EventValues {
 						return null;
 					return ((Getter<? extends T, E>) ev.getter).get(event);
 				}
-			};
+			}, null);
 		}
 		// Most checks have returned before this below is called, but Skript will attempt to convert or find an alternative.
 		// Third check is if the returned object matches the class.
@@ -256,9 +314,9 @@ public class EventValues {
 			boolean checkInstanceOf = !ev.event.isAssignableFrom(e);
 			if (checkInstanceOf && !e.isAssignableFrom(ev.event))
 				continue;
-			if (!checkExcludes(ev, e))
-				return null;
-			return new Getter<T, E>() {
+			if (isExcluded(ev, e))
+				return new Resolution(null, ev);
+			return new Resolution(new Getter<T, E>() {
 				@Override
 				@Nullable
 				public T get(E event) {
@@ -269,7 +327,7 @@ public class EventValues {
 						return (T) object;
 					return null;
 				}
-			};
+			}, null);
 		}
 		// Fourth check will attempt to convert the event value to the type.
 		for (EventValueInfo<?, ?> ev : eventValues) {
@@ -281,14 +339,14 @@ public class EventValues {
 			if (getter == null)
 				continue;
 			
-			if (!checkExcludes(ev, e))
-				return null;
-			return getter;
+			if (isExcluded(ev, e))
+				return new Resolution(null, ev);
+			return new Resolution(getter, null);
 		}
 		// If the check should try again matching event values with a 0 time (most event values).
 		if (allowDefault && time != 0)
-			return getEventValueGetter(e, c, 0, false);
-		return null;
+			return getResolution(e, c, 0, false);
+		return Resolution.NONE;
 	}
 
 	/**
@@ -296,19 +354,17 @@ public class EventValues {
 	 * 
 	 * @param ev
 	 * @param e
-	 * @return boolean if true the event value passes for the events.
+	 * @return boolean if true the event value doesn't pass for the events.
 	 */
 	@SuppressWarnings("unchecked")
-	private static boolean checkExcludes(EventValueInfo<?, ?> ev, Class<? extends Event> e) {
+	private static boolean isExcluded(EventValueInfo<?, ?> ev, Class<? extends Event> e) {
 		if (ev.excludes == null)
-			return true;
+			return false;
 		for (Class<? extends Event> ex : (Class<? extends Event>[]) ev.excludes) {
-			if (ex.isAssignableFrom(e)) {
-				Skript.error(ev.excludeErrorMessage);
-				return false;
-			}
+			if (ex.isAssignableFrom(e))
+				return true;
 		}
-		return true;
+		return false;
 	}
 	
 	@Nullable
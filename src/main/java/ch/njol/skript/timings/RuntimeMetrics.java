@@ -0,0 +1,417 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.timings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.util.Timespan;
+
+/**
+ * Counters, histograms and gauges of what Skript does at runtime, e.g. how many triggers are executed and how long they take.
+ * Counters and histograms only record anything while enabled with the 'runtime metrics' config option.
+ * <p>
+ * Metrics are named and formatted like <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus</a> metrics.
+ * All methods are thread-safe.
+ */
+public final class RuntimeMetrics {
+	
+	private static volatile boolean enabled = false;
+	
+	private static final List<Metric> metrics = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * Upper bounds of the buckets of duration histograms, in seconds.
+	 */
+	private static final double[] DURATION_BUCKETS = {0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05};
+	
+	public static final Histogram TRIGGER_DURATION = register(new Histogram("skript_trigger_duration_seconds",
+		"Time spent executing triggers until they finished or were delayed, by event", "event", DURATION_BUCKETS));
+	
+	public static final Counter FUNCTION_CALLS = register(new Counter("skript_function_calls_total",
+		"Function calls, by function", "function"));
+	
+	public static final Counter FUNCTION_CACHE_HITS = register(new Counter("skript_function_cache_hits_total",
+		"Calls of pure functions whose result was cached, by function", "function"));
+	
+	public static final Counter FUNCTION_CACHE_MISSES = register(new Counter("skript_function_cache_misses_total",
+		"Calls of pure functions whose result wasn't cached, by function", "function"));
+	
+	public static final Counter PATTERN_CACHE_HITS = register(new Counter("skript_pattern_cache_hits_total",
+		"Lookups of patterns compiled at runtime which were cached", null));
+	
+	public static final Counter PATTERN_CACHE_MISSES = register(new Counter("skript_pattern_cache_misses_total",
+		"Lookups of patterns compiled at runtime which had to be compiled", null));
+	
+	public static final Counter VARIABLE_READS = register(new Counter("skript_variable_reads_total",
+		"Reads of global variables", null));
+	
+	public static final Counter VARIABLE_WRITES = register(new Counter("skript_variable_writes_total",
+		"Changes of global variables", null));
+	
+	private RuntimeMetrics() {}
+	
+	public static boolean isEnabled() {
+		return enabled;
+	}
+	
+	public static void setEnabled(boolean enabled) {
+		RuntimeMetrics.enabled = enabled;
+	}
+	
+	/**
+	 * Registers a metric, which will then be included in {@link #getValues()} and {@link #toPrometheus()}.
+	 * 
+	 * @return The given metric
+	 */
+	public static <T extends Metric> T register(T metric) {
+		metrics.add(metric);
+		return metric;
+	}
+	
+	/**
+	 * Registers a gauge, i.e. a value which is read whenever the metrics are collected, e.g. the size of a queue.
+	 * 
+	 * @param name The name of the metric, which should be prefixed with 'skript_' or the name of the addon
+	 * @param help A short description of the value
+	 * @param value Gets the value. Will be called from any thread.
+	 */
+	public static void registerGauge(String name, String help, Supplier<? extends Number> value) {
+		register(new Gauge(name, help, value));
+	}
+	
+	/**
+	 * Records the execution of a trigger.
+	 * 
+	 * @param event The event the trigger was executed for
+	 * @param nanos How long the trigger was executed for
+	 */
+	public static void recordTrigger(Object event, long nanos) {
+		TRIGGER_DURATION.observe(event.getClass(), nanos / 1_000_000_000.);
+	}
+	
+	/**
+	 * @return The current value of each sample of all metrics, in order. Keys are sample names including labels,
+	 * e.g. <tt>skript_function_calls_total{function="test"}</tt>.
+	 */
+	public static Map<String, Number> getValues() {
+		Map<String, Number> values = new LinkedHashMap<>();
+		for (Metric metric : metrics)
+			metric.collect(values::put);
+		return values;
+	}
+	
+	/**
+	 * @return All metrics in Prometheus' text exposition format
+	 */
+	public static String toPrometheus() {
+		StringBuilder b = new StringBuilder();
+		for (Metric metric : metrics) {
+			b.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+			b.append("# TYPE ").append(metric.name).append(' ').append(metric.getType()).append('\n');
+			metric.collect((sample, value) -> b.append(sample).append(' ').append(formatValue(value)).append('\n'));
+		}
+		return b.toString();
+	}
+	
+	private static String formatValue(Number value) {
+		if (value instanceof Double || value instanceof Float)
+			return Double.toString(value.doubleValue());
+		return Long.toString(value.longValue());
+	}
+	
+	// ================ EXPORT ================
+	
+	@Nullable
+	private static BukkitTask exportTask;
+	
+	/**
+	 * Starts periodically writing all metrics to <tt>metrics.prom</tt> in Skript's data folder,
+	 * replacing the file atomically each time. Stops any previous export.
+	 * 
+	 * @param interval How often to write the file. A zero timespan stops exporting.
+	 */
+	public static synchronized void setExportInterval(Timespan interval) {
+		BukkitTask task = exportTask;
+		if (task != null) {
+			task.cancel();
+			exportTask = null;
+		}
+		long ticks = interval.getTicks_i();
+		if (ticks <= 0)
+			return;
+		File file = new File(Skript.getInstance().getDataFolder(), "metrics.prom");
+		exportTask = Bukkit.getScheduler().runTaskTimerAsynchronously(Skript.getInstance(), () -> {
+			if (enabled)
+				export(file);
+		}, ticks, ticks);
+	}
+	
+	private static void export(File file) {
+		Path target = file.toPath();
+		Path temp = target.resolveSibling(file.getName() + ".tmp");
+		try {
+			Files.write(temp, toPrometheus().getBytes(StandardCharsets.UTF_8));
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Skript.exception(e, "Cannot write the runtime metrics to " + file);
+		}
+	}
+	
+	// ================ METRICS ================
+	
+	@FunctionalInterface
+	public interface SampleConsumer {
+		void accept(String sample, Number value);
+	}
+	
+	public static abstract class Metric {
+		
+		protected final String name, help;
+		
+		protected Metric(String name, String help) {
+			this.name = name;
+			this.help = help;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * @return The Prometheus type of this metric
+		 */
+		protected abstract String getType();
+		
+		/**
+		 * Passes the current value of each sample of this metric to the given consumer.
+		 */
+		protected abstract void collect(SampleConsumer out);
+		
+		/**
+		 * Formats a label value of the samples of this metric.
+		 */
+		protected static String labelValue(Object key) {
+			// Simple names aren't unique, e.g. for events of different plugins, which would result in duplicate samples
+			String value = key instanceof Class ? ((Class<?>) key).getName() : String.valueOf(key);
+			return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+		}
+		
+	}
+	
+	/**
+	 * A counter with an optional label, e.g. the name of a function for a counter of function calls.
+	 */
+	public static final class Counter extends Metric {
+		
+		@Nullable
+		private final String label;
+		
+		private final LongAdder value = new LongAdder();
+		private final Map<Object, LongAdder> labeledValues = new ConcurrentHashMap<>();
+		
+		/**
+		 * @param label The name of the label of this counter, or null if it has no label
+		 */
+		public Counter(String name, String help, @Nullable String label) {
+			super(name, help);
+			this.label = label;
+		}
+		
+		public void increment() {
+			if (enabled)
+				value.increment();
+		}
+		
+		public void add(long amount) {
+			if (enabled)
+				value.add(amount);
+		}
+		
+		/**
+		 * @param key The value of the label. Classes are labeled with their fully qualified name, other objects with their string representation.
+		 */
+		public void increment(Object key) {
+			if (enabled)
+				labeledValues.computeIfAbsent(key, k -> new LongAdder()).increment();
+		}
+		
+		/**
+		 * @return The sum of the unlabeled and all labeled values of this counter
+		 */
+		public long getTotal() {
+			long total = value.sum();
+			for (LongAdder labeledValue : labeledValues.values())
+				total += labeledValue.sum();
+			return total;
+		}
+		
+		@Override
+		protected String getType() {
+			return "counter";
+		}
+		
+		@Override
+		protected void collect(SampleConsumer out) {
+			if (label == null) {
+				out.accept(name, value.sum());
+				return;
+			}
+			for (Map.Entry<Object, LongAdder> entry : labeledValues.entrySet())
+				out.accept(name + "{" + label + "=\"" + labelValue(entry.getKey()) + "\"}", entry.getValue().sum());
+		}
+		
+	}
+	
+	/**
+	 * A histogram with an optional label, e.g. the event for a histogram of trigger durations.
+	 */
+	public static final class Histogram extends Metric {
+		
+		@Nullable
+		private final String label;
+		
+		/**
+		 * Upper bounds of the buckets, in ascending order. Values larger than the last bound are put into an additional bucket.
+		 */
+		private final double[] bounds;
+		
+		private final Buckets values;
+		private final Map<Object, Buckets> labeledValues = new ConcurrentHashMap<>();
+		
+		/**
+		 * @param label The name of the label of this histogram, or null if it has no label
+		 * @param bounds The upper bounds of the buckets, in ascending order
+		 */
+		public Histogram(String name, String help, @Nullable String label, double... bounds) {
+			super(name, help);
+			this.label = label;
+			this.bounds = bounds.clone();
+			values = new Buckets(bounds.length + 1);
+		}
+		
+		public void observe(double value) {
+			if (enabled)
+				values.observe(bucket(value), value);
+		}
+		
+		/**
+		 * @param key The value of the label. Classes are labeled with their fully qualified name, other objects with their string representation.
+		 */
+		public void observe(Object key, double value) {
+			if (enabled)
+				labeledValues.computeIfAbsent(key, k -> new Buckets(bounds.length + 1)).observe(bucket(value), value);
+		}
+		
+		private int bucket(double value) {
+			int i = 0;
+			while (i < bounds.length && value > bounds[i])
+				i++;
+			return i;
+		}
+		
+		@Override
+		protected String getType() {
+			return "histogram";
+		}
+		
+		@Override
+		protected void collect(SampleConsumer out) {
+			if (label == null) {
+				collect(out, "", values);
+				return;
+			}
+			for (Map.Entry<Object, Buckets> entry : labeledValues.entrySet())
+				collect(out, label + "=\"" + labelValue(entry.getKey()) + "\",", entry.getValue());
+		}
+		
+		private void collect(SampleConsumer out, String labels, Buckets buckets) {
+			long count = 0;
+			for (int i = 0; i < buckets.counts.length; i++) {
+				count += buckets.counts[i].sum();
+				String bound = i < bounds.length ? Double.toString(bounds[i]) : "+Inf";
+				out.accept(name + "_bucket{" + labels + "le=\"" + bound + "\"}", count);
+			}
+			String sampleLabels = labels.isEmpty() ? "" : "{" + labels.substring(0, labels.length() - 1) + "}";
+			out.accept(name + "_sum" + sampleLabels, buckets.sum.sum());
+			out.accept(name + "_count" + sampleLabels, count);
+		}
+		
+		private static final class Buckets {
+			
+			final LongAdder[] counts;
+			final DoubleAdder sum = new DoubleAdder();
+			
+			Buckets(int size) {
+				counts = new LongAdder[size];
+				for (int i = 0; i < size; i++)
+					counts[i] = new LongAdder();
+			}
+			
+			void observe(int bucket, double value) {
+				counts[bucket].increment();
+				sum.add(value);
+			}
+			
+		}
+		
+	}
+	
+	/**
+	 * A value which is read when the metrics are collected.
+	 */
+	public static final class Gauge extends Metric {
+		
+		private final Supplier<? extends Number> value;
+		
+		public Gauge(String name, String help, Supplier<? extends Number> value) {
+			super(name, help);
+			this.value = value;
+		}
+		
+		@Override
+		protected String getType() {
+			return "gauge";
+		}
+		
+		@Override
+		protected void collect(SampleConsumer out) {
+			out.accept(name, value.get());
+		}
+		
+	}
+	
+}
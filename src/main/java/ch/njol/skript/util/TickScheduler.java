@@ -0,0 +1,320 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.Bukkit;
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
+import ch.njol.skript.timings.RuntimeMetrics;
+
+/**
+ * Runs Skript's scheduled tasks, like periodical events and code continuing after a delay, from a single Bukkit task which runs every tick.
+ * <p>
+ * Tasks are kept in a hierarchical timing wheel, so scheduling, cancelling and running a task takes constant time
+ * regardless of how many tasks are scheduled, unlike Bukkit's scheduler, which keeps all its tasks in one priority queue.
+ * <p>
+ * Due tasks are run in the order they were due in. If the {@link SkriptConfig#schedulerTickBudget time budget per tick} is used up,
+ * the remaining due tasks are run on the next tick instead, before any tasks which become due on that tick.
+ * <p>
+ * All tasks are run on the main thread. Tasks can be scheduled and cancelled from any thread.
+ */
+public final class TickScheduler {
+	
+	private TickScheduler() {}
+	
+	/**
+	 * A task scheduled using {@link TickScheduler}.
+	 */
+	public static final class ScheduledTask {
+		
+		private final Runnable runnable;
+		private final long period;
+		
+		/**
+		 * The tick this task should run on
+		 */
+		long due;
+		
+		volatile boolean cancelled;
+		
+		ScheduledTask(Runnable runnable, long due, long period) {
+			this.runnable = runnable;
+			this.due = due;
+			this.period = period;
+		}
+		
+		/**
+		 * Stops this task from running again. Does nothing if it was already cancelled or has already run.
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+		
+		public boolean isCancelled() {
+			return cancelled;
+		}
+		
+	}
+	
+	/**
+	 * The number of bits of the tick used to select a slot on each level of the wheel.
+	 * Level 0 has a slot per tick for the next 256 ticks, level 1 a slot per 256 ticks for the next 16,384 ticks, and so on.
+	 * Tasks due after 2<sup>26</sup> ticks (about 39 days) are kept in {@link #overflow}.
+	 */
+	private static final int[] LEVEL_BITS = {8, 6, 6, 6};
+	
+	private static final int[] LEVEL_SHIFT = new int[LEVEL_BITS.length];
+	
+	static {
+		int shift = 0;
+		for (int i = 0; i < LEVEL_BITS.length; i++) {
+			LEVEL_SHIFT[i] = shift;
+			shift += LEVEL_BITS[i];
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static final List<ScheduledTask>[][] wheel = new List[LEVEL_BITS.length][];
+	
+	static {
+		for (int i = 0; i < LEVEL_BITS.length; i++) {
+			wheel[i] = new List[1 << LEVEL_BITS[i]];
+			for (int j = 0; j < wheel[i].length; j++)
+				wheel[i][j] = new ArrayList<>();
+		}
+	}
+	
+	private static final List<ScheduledTask> overflow = new ArrayList<>();
+	
+	/**
+	 * How many ticks tasks ran after they were due. Tasks are late if the time budget per tick was used up.
+	 */
+	private static final RuntimeMetrics.Histogram LATENESS = RuntimeMetrics.register(new RuntimeMetrics.Histogram("skript_scheduled_task_lateness_ticks",
+		"Ticks scheduled tasks ran after they were due, as the time budget per tick was used up", null, 0, 1, 2, 5, 20));
+	
+	static {
+		RuntimeMetrics.registerGauge("skript_scheduled_tasks", "Tasks scheduled by Skript which aren't due yet", TickScheduler::getScheduledCount);
+		RuntimeMetrics.registerGauge("skript_scheduled_tasks_overdue", "Tasks which are due, but were postponed to the next tick as the time budget per tick was used up", TickScheduler::getOverdueCount);
+	}
+	
+	/**
+	 * The number of ticks this scheduler has been running for. Must only be modified while synchronised on {@link #wheel}.
+	 */
+	private static long currentTick = 0;
+	
+	/**
+	 * Tasks which are due, but haven't run yet. Only used by {@link #tick()} on the main thread.
+	 */
+	private static final ArrayDeque<ScheduledTask> ready = new ArrayDeque<>();
+	
+	private static int scheduledCount = 0;
+	
+	/**
+	 * The size of {@link #ready} after the last tick, which can be read from any thread.
+	 */
+	private static volatile int overdueCount = 0;
+	
+	private static int taskID = -1;
+	private static boolean closeOnDisable = false;
+	
+	/**
+	 * Runs a task once after the given delay.
+	 * 
+	 * @param runnable The task to run
+	 * @param delay The delay in ticks. Values less than 1 are treated as 1.
+	 * @return A handle to cancel the task
+	 */
+	public static ScheduledTask schedule(Runnable runnable, long delay) {
+		return schedule(runnable, delay, -1);
+	}
+	
+	/**
+	 * Runs a task repeatedly.
+	 * 
+	 * @param runnable The task to run
+	 * @param delay The delay in ticks until the first run. Values less than 1 are treated as 1.
+	 * @param period The ticks between runs, or -1 to only run the task once
+	 * @return A handle to cancel the task
+	 */
+	public static ScheduledTask schedule(Runnable runnable, long delay, long period) {
+		assert period == -1 || period > 0 : period;
+		synchronized (wheel) {
+			ScheduledTask task = new ScheduledTask(runnable, currentTick + Math.max(delay, 1), period);
+			insert(task);
+			start();
+			return task;
+		}
+	}
+	
+	/**
+	 * @return The number of scheduled tasks which aren't due yet, including cancelled tasks which haven't been cleaned up yet
+	 */
+	public static int getScheduledCount() {
+		synchronized (wheel) {
+			return scheduledCount;
+		}
+	}
+	
+	/**
+	 * @return The number of tasks which were due, but had to be postponed to the next tick because the time budget was used up.
+	 */
+	public static int getOverdueCount() {
+		return overdueCount;
+	}
+	
+	/**
+	 * @return The current tick of this scheduler, which is the number of ticks it has been running for.
+	 */
+	public static long getCurrentTick() {
+		synchronized (wheel) {
+			return currentTick;
+		}
+	}
+	
+	/**
+	 * Must be synchronised on {@link #wheel}.
+	 */
+	private static void start() {
+		if (taskID != -1 || !Skript.getInstance().isEnabled())
+			return;
+		taskID = Bukkit.getScheduler().scheduleSyncRepeatingTask(Skript.getInstance(), TickScheduler::tick, 1, 1);
+		if (taskID != -1 && !closeOnDisable) {
+			Skript.closeOnDisable(TickScheduler::stop);
+			closeOnDisable = true;
+		}
+	}
+	
+	/**
+	 * Cancels all tasks. Called when Skript is disabled.
+	 */
+	private static void stop() {
+		synchronized (wheel) {
+			if (taskID != -1)
+				Bukkit.getScheduler().cancelTask(taskID);
+			taskID = -1;
+			for (List<ScheduledTask>[] level : wheel) {
+				for (List<ScheduledTask> slot : level)
+					slot.clear();
+			}
+			overflow.clear();
+			scheduledCount = 0;
+		}
+		ready.clear();
+		overdueCount = 0;
+	}
+	
+	/**
+	 * Must be synchronised on {@link #wheel}.
+	 */
+	private static void insert(ScheduledTask task) {
+		scheduledCount++;
+		long delta = task.due - currentTick;
+		for (int level = 0; level < LEVEL_BITS.length; level++) {
+			if (delta < 1L << (LEVEL_SHIFT[level] + LEVEL_BITS[level])) {
+				int slot = (int) ((task.due >>> LEVEL_SHIFT[level]) & ((1 << LEVEL_BITS[level]) - 1));
+				wheel[level][slot].add(task);
+				return;
+			}
+		}
+		overflow.add(task);
+	}
+	
+	/**
+	 * Moves the tasks of a slot to the lower levels, or to the due tasks if they are due on the current tick.
+	 * Must be synchronised on {@link #wheel}.
+	 */
+	private static void cascade(int level, int slot) {
+		List<ScheduledTask> tasks = wheel[level][slot];
+		if (tasks.isEmpty())
+			return;
+		wheel[level][slot] = new ArrayList<>();
+		scheduledCount -= tasks.size();
+		for (ScheduledTask task : tasks) {
+			if (task.cancelled)
+				continue;
+			if (task.due <= currentTick) {
+				ready.add(task);
+			} else {
+				insert(task);
+			}
+		}
+	}
+	
+	private static void tick() {
+		synchronized (wheel) {
+			long tick = ++currentTick;
+			// Cascade from the highest level down, so that tasks end up in the lowest level before that is processed
+			int level = 1;
+			while (level < LEVEL_BITS.length && (tick & ((1L << LEVEL_SHIFT[level]) - 1)) == 0)
+				level++;
+			if (level == LEVEL_BITS.length && !overflow.isEmpty()) {
+				List<ScheduledTask> tasks = new ArrayList<>(overflow);
+				overflow.clear();
+				scheduledCount -= tasks.size();
+				for (ScheduledTask task : tasks) {
+					if (!task.cancelled)
+						insert(task);
+				}
+			}
+			for (level--; level > 0; level--)
+				cascade(level, (int) ((tick >>> LEVEL_SHIFT[level]) & ((1 << LEVEL_BITS[level]) - 1)));
+			List<ScheduledTask> slot = wheel[0][(int) (tick & ((1 << LEVEL_BITS[0]) - 1))];
+			if (!slot.isEmpty()) {
+				scheduledCount -= slot.size();
+				for (ScheduledTask task : slot) {
+					if (!task.cancelled)
+						ready.add(task);
+				}
+				slot.clear();
+			}
+		}
+		
+		long budget = SkriptConfig.schedulerTickBudget.value().getMilliSeconds() * 1_000_000L;
+		long start = budget > 0 ? System.nanoTime() : 0;
+		ScheduledTask task;
+		while ((task = ready.poll()) != null) {
+			if (task.cancelled)
+				continue;
+			LATENESS.observe(currentTick - task.due);
+			try {
+				task.runnable.run();
+			} catch (Exception e) {
+				Skript.exception(e, "An error occurred while running a scheduled task");
+			}
+			if (task.period > 0 && !task.cancelled) {
+				synchronized (wheel) {
+					task.due = Math.max(task.due + task.period, currentTick + 1);
+					insert(task);
+				}
+			} else {
+				task.cancelled = true; // Has run
+			}
+			if (budget > 0 && System.nanoTime() - start > budget)
+				break; // Spill remaining tasks to the next tick
+		}
+		overdueCount = ready.size();
+	}
+	
+}
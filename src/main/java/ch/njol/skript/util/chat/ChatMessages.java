@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -76,6 +77,34 @@ public class ChatMessages {
 	@SuppressWarnings("null")
 	static final Pattern linkPattern = Pattern.compile("[-a-zA-Z0-9@:%._\\+~#=]{2,256}\\.[a-z]{2,6}\\b([-a-zA-Z0-9@:%_\\+.~#?&//=]*)");
 	
+	/**
+	 * Maximum amount of messages kept in {@link #parseCache}.
+	 */
+	private static final int PARSE_CACHE_SIZE = 512;
+	
+	/**
+	 * Recently parsed messages, least recently used first. Components in this cache
+	 * are never handed out, only copies of them.
+	 */
+	@SuppressWarnings("serial")
+	private static final Map<String, MessageComponent[]> parseCache = new LinkedHashMap<String, MessageComponent[]>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, MessageComponent[]> eldest) {
+			return size() > PARSE_CACHE_SIZE;
+		}
+	};
+	
+	/**
+	 * Changed whenever cached parse results become invalid.
+	 */
+	private static int cacheGeneration = 0;
+	
+	/**
+	 * Settings that {@link #parseCache} was filled with.
+	 */
+	private static LinkParseMode cachedLinkParseMode = linkParseMode;
+	private static boolean cachedColorResetCodes = colorResetCodes;
+	
 	/**
 	 * Instance of GSON we use for serialization.
 	 */
@@ -92,6 +121,7 @@ public class ChatMessages {
 			@Override
 			public void onLanguageChange() {
 				codes.clear();
+				invalidateCache();
 				
 				Skript.debug("Parsing message style lang files");
 				for (SkriptChatCode code : SkriptChatCode.values()) {
@@ -181,12 +211,69 @@ public class ChatMessages {
 	}
 	
 	/**
-	 * Parses a string to list of chat message components.
+	 * Discards all cached parse results.
+	 */
+	public static void invalidateCache() {
+		synchronized (parseCache) {
+			parseCache.clear();
+			cacheGeneration++;
+		}
+	}
+	
+	/**
+	 * Gets a number that changes whenever messages parsed before may be parsed
+	 * differently now, e.g. because the language or link parse mode was changed.
+	 * @return Current cache generation.
+	 */
+	public static int getCacheGeneration() {
+		synchronized (parseCache) {
+			if (cachedLinkParseMode != linkParseMode || cachedColorResetCodes != colorResetCodes) {
+				cachedLinkParseMode = linkParseMode;
+				cachedColorResetCodes = colorResetCodes;
+				parseCache.clear();
+				cacheGeneration++;
+			}
+			return cacheGeneration;
+		}
+	}
+	
+	/**
+	 * Parses a string to list of chat message components. Results are cached,
+	 * so parsing the same string repeatedly is cheap.
 	 * @param msg Input string.
-	 * @return List with components.
+	 * @return List with components, which the caller may modify.
 	 */
-	@SuppressWarnings("null")
 	public static List<MessageComponent> parse(String msg) {
+		MessageComponent[] parsed;
+		int generation;
+		synchronized (parseCache) {
+			generation = getCacheGeneration();
+			parsed = parseCache.get(msg);
+		}
+		if (parsed == null) {
+			parsed = parseUncached(msg).toArray(new MessageComponent[0]);
+			synchronized (parseCache) {
+				if (generation == cacheGeneration)
+					parseCache.put(msg, parsed);
+			}
+		}
+		return copy(parsed);
+	}
+	
+	/**
+	 * Copies the given components.
+	 * @param components Components to copy.
+	 * @return A new list with copies of the components.
+	 */
+	public static List<MessageComponent> copy(MessageComponent[] components) {
+		List<MessageComponent> copy = new ArrayList<>(components.length);
+		for (MessageComponent component : components)
+			copy.add(component.copy());
+		return copy;
+	}
+	
+	@SuppressWarnings("null")
+	private static List<MessageComponent> parseUncached(String msg) {
 		char[] chars = msg.toCharArray();
 		
 		List<MessageComponent> components = new ArrayList<>();
@@ -571,6 +658,7 @@ public class ChatMessages {
 		
 		addonCodes.add(code); // So that language reloads don't break everything
 		registerChatCode(code);
+		invalidateCache();
 	}
 	
 	/**
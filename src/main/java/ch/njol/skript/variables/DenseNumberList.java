@@ -0,0 +1,202 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A list variable whose indices are 1, 2, 3, ... without gaps, and whose values are either all {@link Long}s or all {@link Double}s.
+ * The values are stored in a primitive array instead of a {@link TreeMap} with string keys and boxed values.
+ * <p>
+ * Outside of {@link VariablesMap} this is a read-only map like any other list variable. The VariablesMap changes it with
+ * {@link #set(String, Object)}, and replaces it with {@link #toTreeMap()} when a change can't be represented by this list.
+ */
+final class DenseNumberList extends AbstractMap<String, Object> {
+
+	private static final int MIN_CAPACITY = 8;
+
+	/**
+	 * Whether the values are {@link Double}s, stored as their raw long bits
+	 */
+	private final boolean decimal;
+	private long[] values = new long[MIN_CAPACITY];
+	private int size = 0;
+
+	/**
+	 * @param first The element at index 1, which must be a Long or a Double
+	 */
+	DenseNumberList(Object first) {
+		assert canHold(first) : first;
+		decimal = first instanceof Double;
+		values[size++] = toBits(first);
+	}
+
+	/**
+	 * @return Whether a list that has just been created by setting the element with the given index to the given value can be a dense list
+	 */
+	static boolean canStart(String index, Object value) {
+		return index.equals("1") && canHold(value);
+	}
+
+	private static boolean canHold(Object value) {
+		return value instanceof Long || value instanceof Double;
+	}
+
+	/**
+	 * @return The index that the given key represents, or -1 if the key isn't a positive integer written without leading zeros
+	 */
+	static int index(@Nullable Object key) {
+		if (!(key instanceof String))
+			return -1;
+		String s = (String) key;
+		int length = s.length();
+		if (length == 0 || length > 9 || s.charAt(0) == '0')
+			return -1;
+		int index = 0;
+		for (int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			index = index * 10 + (c - '0');
+		}
+		return index;
+	}
+
+	private long toBits(Object value) {
+		return decimal ? Double.doubleToRawLongBits((Double) value) : (Long) value;
+	}
+
+	private Object box(int i) {
+		return decimal ? (Object) Double.longBitsToDouble(values[i]) : (Object) values[i];
+	}
+
+	/**
+	 * @param index The index of the element, starting at 1
+	 * @return The element with the given index, or null if the list is shorter
+	 */
+	@Nullable
+	public Object get(int index) {
+		if (index < 1 || index > size)
+			return null;
+		return box(index - 1);
+	}
+
+	/**
+	 * Sets or deletes an element of this list, if the list will still be dense afterwards.
+	 * 
+	 * @param key The index of the element
+	 * @param value The new value, or null to delete the element
+	 * @return Whether the change was made. If not, the list must be replaced with {@link #toTreeMap()} to make it.
+	 */
+	boolean set(String key, @Nullable Object value) {
+		int index = index(key);
+		if (value == null) {
+			if (index < 1 || index > size)
+				return true; // nothing to delete
+			if (index != size)
+				return false; // would leave a gap
+			size--;
+			if (values.length > MIN_CAPACITY && size < values.length / 4)
+				values = Arrays.copyOf(values, Math.max(MIN_CAPACITY, values.length / 2));
+			return true;
+		}
+		if (index < 1 || index > size + 1 || (decimal ? !(value instanceof Double) : !(value instanceof Long)))
+			return false;
+		if (index == size + 1) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			size++;
+		}
+		values[index - 1] = toBits(value);
+		return true;
+	}
+
+	/**
+	 * @return A new list with the same elements, which can hold any indices and values
+	 */
+	TreeMap<String, Object> toTreeMap() {
+		TreeMap<String, Object> map = new TreeMap<>(VariablesMap.variableNameComparator);
+		for (int i = 0; i < size; i++)
+			map.put(Integer.toString(i + 1), box(i));
+		return map;
+	}
+
+	@Override
+	@Nullable
+	public Object get(@Nullable Object key) {
+		return get(index(key));
+	}
+
+	@Override
+	public boolean containsKey(@Nullable Object key) {
+		int index = index(key);
+		return index >= 1 && index <= size;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		return new AbstractSet<Map.Entry<String, Object>>() {
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator() {
+				return new Iterator<Map.Entry<String, Object>>() {
+					private int next = 0;
+
+					@Override
+					public boolean hasNext() {
+						return next < size;
+					}
+
+					@Override
+					public Map.Entry<String, Object> next() {
+						if (next >= size)
+							throw new NoSuchElementException();
+						Map.Entry<String, Object> entry = new SimpleImmutableEntry<>(Integer.toString(next + 1), box(next));
+						next++;
+						return entry;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+}
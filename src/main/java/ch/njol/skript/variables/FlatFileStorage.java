@@ -28,8 +28,8 @@ import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -422,27 +422,34 @@ public class FlatFileStorage extends VariablesStorage {
 	 * @param parent The parent's name with {@link Variable#SEPARATOR} at the end
 	 * @param map
 	 */
+	private void save(PrintWriter pw, String parent, Map<String, Object> map) {
+		save(pw, parent, map, null);
+	}
+	
+	/**
+	 * @param owner The storage that all variables in the map except for its value without index are saved in, if known
+	 */
 	@SuppressWarnings("unchecked")
-	private void save(PrintWriter pw, String parent, TreeMap<String, Object> map) {
-		outer: for (Entry<String, Object> e : map.entrySet()) {
+	private void save(PrintWriter pw, String parent, Map<String, Object> map, @Nullable VariablesStorage owner) {
+		for (Entry<String, Object> e : map.entrySet()) {
 			Object val = e.getValue();
 			if (val == null)
 				continue;
-			if (val instanceof TreeMap) {
-				save(pw, parent + e.getKey() + Variable.SEPARATOR, (TreeMap<String, Object>) val);
+			if (val instanceof Map) {
+				String list = parent + e.getKey() + Variable.SEPARATOR;
+				VariablesStorage listOwner = owner != null ? owner : Variables.getStorageOwner(list);
+				if (listOwner != null && listOwner != this && ((Map<String, Object>) val).get(null) == null)
+					continue; // Nothing in this list is saved here
+				save(pw, list, (Map<String, Object>) val, listOwner);
 			} else {
 				String name = e.getKey() == null ? parent.substring(0, parent.length() - Variable.SEPARATOR.length()) : parent + e.getKey();
 
 				try {
-					for (VariablesStorage s : Variables.storages) {
-						if (s.accept(name)) {
-							if (s == this) {
-								SerializedVariable.Value value = Classes.serialize(val);
-								if (value != null)
-									writeCSV(pw, name, value.type, encode(value.data));
-							}
-							continue outer;
-						}
+					VariablesStorage s = owner != null && e.getKey() != null ? owner : Variables.getStorage(name);
+					if (s == this) {
+						SerializedVariable.Value value = Classes.serialize(val);
+						if (value != null)
+							writeCSV(pw, name, value.type, encode(value.data));
 					}
 				} catch (Exception ex) {
 					Skript.exception(ex, "Error saving variable named " + name);
@@ -0,0 +1,100 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.Locale;
+
+import ch.njol.skript.lang.Variable;
+
+/**
+ * A local variable whose name is known in advance, e.g. the parameter of a function.
+ * Values can be bound to it using {@link Variables#setLocalVariables(org.bukkit.event.Event, LocalVariableSlot[], Object[][])},
+ * which doesn't need to parse the name or build the names of list elements for every call.
+ */
+public final class LocalVariableSlot {
+	
+	private final String name, lowerCaseName;
+	private final boolean list;
+	
+	/**
+	 * Whether the name contains a {@link Variable#SEPARATOR}, in which case values are set like by {@link Variables#setVariable(String, Object, org.bukkit.event.Event, boolean)}.
+	 */
+	final boolean nested;
+	
+	/**
+	 * The indices and full names of list elements, grown on demand.
+	 * This is replaced instead of modified, so it can be read without synchronisation.
+	 */
+	private volatile ListElements elements;
+	
+	/**
+	 * @param name The name of the variable without the leading underscore
+	 * @param list Whether this is a list variable, whose values are stored at the indices 1, 2, 3, ...
+	 */
+	public LocalVariableSlot(String name, boolean list) {
+		this.name = name;
+		this.lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+		this.list = list;
+		this.nested = name.contains(Variable.SEPARATOR);
+		this.elements = new ListElements(getName(), 0);
+	}
+	
+	String getName() {
+		return Variables.caseInsensitiveVariables ? lowerCaseName : name;
+	}
+	
+	public boolean isList() {
+		return list;
+	}
+	
+	/**
+	 * @param size The number of list elements
+	 * @return The indices and full names of at least the first <tt>size</tt> elements
+	 */
+	ListElements getElements(int size) {
+		ListElements elements = this.elements;
+		String name = getName();
+		if (elements.indices.length < size || elements.name != name) // Names change if case sensitivity is toggled
+			this.elements = elements = new ListElements(name, Math.max(size, elements.indices.length * 2));
+		return elements;
+	}
+	
+	static final class ListElements {
+		
+		final String name;
+		final String[] indices, names;
+		
+		ListElements(String name, int size) {
+			this.name = name;
+			indices = new String[size];
+			names = new String[size];
+			for (int i = 0; i < size; i++) {
+				indices[i] = "" + (i + 1);
+				names[i] = name + Variable.SEPARATOR + indices[i];
+			}
+		}
+		
+	}
+	
+	@Override
+	public String toString() {
+		return "{_" + name + (list ? Variable.SEPARATOR + "*}" : "}");
+	}
+	
+}
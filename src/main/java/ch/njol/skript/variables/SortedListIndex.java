@@ -0,0 +1,139 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.registrations.Comparators;
+import ch.njol.util.NonNullPair;
+
+/**
+ * Keeps the direct children of a global list variable sorted by their values,
+ * so that the highest or lowest entries can be read without sorting the whole list.
+ * <p>
+ * Must be updated and read while holding the appropriate {@link Variables#variablesLock variables lock}.
+ */
+final class SortedListIndex {
+	
+	/**
+	 * A total order over the indexed entries: by value first, and by index if the values are equal or can't be compared.
+	 * Numbers are compared exactly, as the default number comparator treats numbers within
+	 * {@link ch.njol.skript.Skript#EPSILON} as equal, which isn't transitive.
+	 */
+	private final static Comparator<NonNullPair<String, Object>> ENTRY_ORDER = new Comparator<NonNullPair<String, Object>>() {
+		@SuppressWarnings("null")
+		@Override
+		public int compare(NonNullPair<String, Object> e1, NonNullPair<String, Object> e2) {
+			Object v1 = e1.getSecond(), v2 = e2.getSecond();
+			int relation;
+			if (v1 instanceof Number && v2 instanceof Number) {
+				Number n1 = (Number) v1, n2 = (Number) v2;
+				if (n1 instanceof Long && n2 instanceof Long)
+					relation = Long.compare(n1.longValue(), n2.longValue());
+				else
+					relation = Double.compare(n1.doubleValue(), n2.doubleValue());
+			} else {
+				relation = Comparators.compare(v1, v2).getRelation();
+				if (relation == 0 && v1.getClass() != v2.getClass())
+					relation = v1.getClass().getName().compareTo(v2.getClass().getName());
+			}
+			if (relation != 0)
+				return relation;
+			return VariablesMap.variableNameComparator.compare(e1.getFirst(), e2.getFirst());
+		}
+	};
+	
+	/**
+	 * The name of the indexed list, without the trailing <tt>::*</tt>.
+	 */
+	final String name;
+	
+	private final TreeSet<NonNullPair<String, Object>> sorted = new TreeSet<>(ENTRY_ORDER);
+	private final Map<String, NonNullPair<String, Object>> entries = new HashMap<>();
+	
+	SortedListIndex(String name) {
+		this.name = name;
+	}
+	
+	/**
+	 * Fills this index with the current contents of the list.
+	 * 
+	 * @param list The raw list as stored in the {@link VariablesMap}, or null if the list is not set
+	 */
+	@SuppressWarnings("unchecked")
+	void rebuild(@Nullable Map<String, Object> list) {
+		clear();
+		if (list == null)
+			return;
+		for (Entry<String, Object> entry : list.entrySet()) {
+			String index = entry.getKey();
+			Object value = entry.getValue();
+			if (index == null)
+				continue;
+			if (value instanceof Map)
+				value = ((Map<String, Object>) value).get(null);
+			set(index, value);
+		}
+	}
+	
+	/**
+	 * Updates the entry of the given index of the list.
+	 * 
+	 * @param index The index of the entry, e.g. <tt>uuid</tt> for <tt>{balance::uuid}</tt>
+	 * @param value The new value, or null if the entry was deleted
+	 */
+	void set(String index, @Nullable Object value) {
+		NonNullPair<String, Object> old = value == null ? entries.remove(index) : entries.get(index);
+		if (old != null)
+			sorted.remove(old);
+		if (value != null) {
+			NonNullPair<String, Object> entry = new NonNullPair<>(index, value);
+			entries.put(index, entry);
+			sorted.add(entry);
+		}
+	}
+	
+	void clear() {
+		sorted.clear();
+		entries.clear();
+	}
+	
+	/**
+	 * @param amount The maximum amount of entries to return
+	 * @param descending Whether to return the highest entries instead of the lowest ones
+	 * @return The entries with the highest or lowest values, in order
+	 */
+	List<NonNullPair<String, Object>> getFirst(int amount, boolean descending) {
+		List<NonNullPair<String, Object>> first = new ArrayList<>(Math.min(amount, sorted.size()));
+		Iterator<NonNullPair<String, Object>> iterator = descending ? sorted.descendingIterator() : sorted.iterator();
+		while (first.size() < amount && iterator.hasNext())
+			first.add(iterator.next());
+		return first;
+	}
+	
+}
@@ -0,0 +1,194 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Finds the storage a variable is saved in, i.e. the first storage whose pattern accepts the variable's name.
+ * <p>
+ * Patterns which are a literal name, or a literal prefix followed by <tt>.*</tt> or <tt>.+</tt>, are compiled
+ * into a prefix trie, so that they don't have to be matched against each variable. Like a pattern of just
+ * <tt>.*</tt>, such a suffix is assumed to match any characters. Other patterns are matched as regexes.
+ */
+final class StorageRouter {
+	
+	private final static int NONE = Integer.MAX_VALUE;
+	
+	/**
+	 * Characters that have a special meaning in a regex.
+	 */
+	private final static String META_CHARS = "\\^$.|?*+()[]{}";
+	
+	private final List<VariablesStorage> storages;
+	
+	private final Node root = new Node();
+	
+	/**
+	 * Indices of the storages whose patterns are not in the trie, in ascending order.
+	 */
+	private final int[] regexStorages;
+	
+	StorageRouter(List<VariablesStorage> storages) {
+		this.storages = new ArrayList<>(storages);
+		List<Integer> regexStorages = new ArrayList<>();
+		for (int i = 0; i < this.storages.size(); i++) {
+			Pattern pattern = this.storages.get(i).getVariablePattern();
+			if (pattern == null) {
+				root.prefixAny = Math.min(root.prefixAny, i);
+			} else if (!addToTrie(pattern, i)) {
+				regexStorages.add(i);
+			}
+		}
+		this.regexStorages = regexStorages.stream().mapToInt(Integer::intValue).toArray();
+		root.computeMinBelow();
+	}
+	
+	/**
+	 * @return Whether this router was created for the given storages
+	 */
+	boolean isFor(List<VariablesStorage> storages) {
+		return this.storages.equals(storages);
+	}
+	
+	private boolean addToTrie(Pattern pattern, int index) {
+		if (pattern.flags() != 0)
+			return false;
+		String regex = pattern.pattern();
+		StringBuilder literal = new StringBuilder(regex.length());
+		int i = 0;
+		while (i < regex.length()) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				if (i + 1 == regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) // a character class, quote or back reference
+					return false;
+				literal.append(regex.charAt(i + 1));
+				i += 2;
+			} else if (META_CHARS.indexOf(c) != -1) {
+				break;
+			} else {
+				literal.append(c);
+				i++;
+			}
+		}
+		String suffix = regex.substring(i);
+		if (!suffix.isEmpty() && !suffix.equals(".*") && !suffix.equals(".+"))
+			return false;
+		
+		Node node = root;
+		for (int j = 0; j < literal.length(); j++)
+			node = node.children.computeIfAbsent(literal.charAt(j), c -> new Node());
+		if (suffix.isEmpty()) {
+			node.exact = Math.min(node.exact, index);
+		} else if (suffix.equals(".*")) {
+			node.prefixAny = Math.min(node.prefixAny, index);
+		} else {
+			node.prefixSome = Math.min(node.prefixSome, index);
+		}
+		return true;
+	}
+	
+	/**
+	 * @return The storage the given variable is saved in, or null if no storage accepts it
+	 */
+	@Nullable
+	VariablesStorage route(String name) {
+		int best = NONE;
+		Node node = root;
+		int depth = 0;
+		while (node != null) {
+			best = Math.min(best, node.prefixAny);
+			if (depth == name.length()) {
+				best = Math.min(best, node.exact);
+				break;
+			}
+			best = Math.min(best, node.prefixSome);
+			node = node.children.get(name.charAt(depth++));
+		}
+		return withRegexStorages(name, best);
+	}
+	
+	@Nullable
+	private VariablesStorage withRegexStorages(String name, int best) {
+		for (int i : regexStorages) {
+			if (i > best)
+				break;
+			VariablesStorage storage = storages.get(i);
+			if (storage.accept(name))
+				return storage;
+		}
+		return best == NONE ? null : storages.get(best);
+	}
+	
+	/**
+	 * Gets the storage which all variables whose names start with the given prefix and are longer than it are saved in.
+	 * 
+	 * @param prefix The prefix, usually the name of a list variable including the trailing {@link ch.njol.skript.lang.Variable#SEPARATOR}
+	 * @return The storage, or null if such variables are saved in different storages, or it can't be determined without their full names
+	 */
+	@Nullable
+	VariablesStorage getOwner(String prefix) {
+		int best = NONE;
+		Node node = root;
+		for (int depth = 0; node != null && depth < prefix.length(); depth++) {
+			best = Math.min(best, Math.min(node.prefixAny, node.prefixSome));
+			node = node.children.get(prefix.charAt(depth));
+		}
+		if (node != null) {
+			best = Math.min(best, node.prefixAny);
+			if (node.prefixSome < best || node.minBelow < best)
+				return null;
+		}
+		if (best == NONE || regexStorages.length != 0 && regexStorages[0] < best)
+			return null;
+		return storages.get(best);
+	}
+	
+	private final static class Node {
+		
+		final Map<Character, Node> children = new HashMap<>();
+		
+		/**
+		 * Index of the first storage accepting exactly the name of this node, the name followed by anything,
+		 * or the name followed by at least one character.
+		 */
+		int exact = NONE, prefixAny = NONE, prefixSome = NONE;
+		
+		/**
+		 * Lowest storage index of all nodes below this node.
+		 */
+		int minBelow = NONE;
+		
+		int computeMinBelow() {
+			int min = NONE;
+			for (Node child : children.values())
+				min = Math.min(min, child.computeMinBelow());
+			minBelow = min;
+			return Math.min(min, Math.min(exact, Math.min(prefixAny, prefixSome)));
+		}
+		
+	}
+	
+}
@@ -18,22 +18,34 @@
  */
 package ch.njol.skript.variables;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import ch.njol.skript.log.SkriptLogger;
@@ -49,12 +61,14 @@ import ch.njol.skript.SkriptAPIException;
 import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.classes.ConfigurationSerializer;
+import ch.njol.skript.classes.Serializer;
 import ch.njol.skript.config.Config;
 import ch.njol.skript.config.Node;
 import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.registrations.Converters;
+import ch.njol.skript.timings.RuntimeMetrics;
 import ch.njol.skript.variables.DatabaseStorage.Type;
 import ch.njol.skript.variables.SerializedVariable.Value;
 import ch.njol.util.Closeable;
@@ -110,6 +124,35 @@ public abstract class Variables {
 	
 	static List<VariablesStorage> storages = new ArrayList<>();
 	
+	@Nullable
+	private static volatile StorageRouter storageRouter;
+	
+	private static StorageRouter getStorageRouter() {
+		StorageRouter router = storageRouter;
+		if (router == null || !router.isFor(storages)) // Storages are only added while variables are loaded
+			storageRouter = router = new StorageRouter(storages);
+		return router;
+	}
+	
+	/**
+	 * @return The storage that the variable with the given name is saved in, or null if no storage accepts it
+	 */
+	@Nullable
+	static VariablesStorage getStorage(String name) {
+		return getStorageRouter().route(name);
+	}
+	
+	/**
+	 * Gets the storage that all variables of a list are saved in, which can be looked up once for a whole list.
+	 * 
+	 * @param prefix The name of the list including the trailing {@link Variable#SEPARATOR}
+	 * @return The storage, or null if the variables are saved in different storages or this can't be determined
+	 */
+	@Nullable
+	static VariablesStorage getStorageOwner(String prefix) {
+		return getStorageRouter().getOwner(prefix);
+	}
+	
 	public static boolean load() {
 		assert variables.treeMap.isEmpty();
 		assert variables.hashMap.isEmpty();
@@ -131,6 +174,15 @@ public abstract class Variables {
 			}
 		});
 		
+		RuntimeMetrics.registerGauge("skript_variable_change_queue_size", "Changes of global variables waiting for the variables lock", changeQueue::size);
+		RuntimeMetrics.registerGauge("skript_variable_save_queue_size", "Changed global variables waiting to be serialised and passed to their storage", saveQueue::size);
+		RuntimeMetrics.registerGauge("skript_variable_storage_queue_size", "Serialised variables waiting to be written by their storage", () -> {
+			int size = 0;
+			for (VariablesStorage storage : storages)
+				size += storage.changesQueue.size();
+			return size;
+		});
+		
 		// reports once per second how many variables were loaded. Useful to make clear that Skript is still doing something if it's loading many variables
 		final Thread loadingLoggerThread = new Thread() {
 			@Override
@@ -247,6 +299,21 @@ public abstract class Variables {
 
 	private final static Map<Event, VariablesMap> localVariables = new ConcurrentHashMap<>();
 	
+	/**
+	 * Sorted indices of global list variables, keyed by the name of the list without the trailing "::*".
+	 * <p>
+	 * Must be locked with {@link #variablesLock}.
+	 */
+	private final static Map<String, SortedListIndex> sortedListIndices = new HashMap<>();
+	
+	/**
+	 * The scripts which use each of the {@link #sortedListIndices}, keyed the same way.
+	 * An index without any scripts is only removed if it was added by a script.
+	 * <p>
+	 * Must be locked with {@link #variablesLock}.
+	 */
+	private final static Map<String, Set<File>> sortedListIndexScripts = new HashMap<>();
+	
 	/**
 	 * Remember to lock with {@link #getReadLock()} and to not make any changes!
 	 */
@@ -280,6 +347,49 @@ public abstract class Variables {
 		}
 	}
 
+	/**
+	 * Replaces the local variables of the given event with new ones which hold the given values.
+	 * This is equivalent to, but much faster than, setting each value with {@link #setVariable(String, Object, Event, boolean)}.
+	 * 
+	 * @param event Event.
+	 * @param slots The variables to set.
+	 * @param values The values of each variable. Only the first value is used for single variables,
+	 *            while list variables get the values at the indices 1, 2, 3, ...
+	 */
+	public static void setLocalVariables(Event event, LocalVariableSlot[] slots, Object[][] values) {
+		assert slots.length == values.length;
+		VariablesMap map = new VariablesMap();
+		for (int i = 0; i < slots.length; i++) {
+			LocalVariableSlot slot = slots[i];
+			Object[] val = values[i];
+			if (val.length == 0)
+				continue;
+			String name = slot.getName();
+			if (slot.nested) { // Can't be set directly
+				if (!slot.isList()) {
+					map.setVariable(name, convertValue(val[0]));
+				} else {
+					for (int j = 0; j < val.length; j++)
+						map.setVariable(name + Variable.SEPARATOR + (j + 1), convertValue(val[j]));
+				}
+			} else if (!slot.isList()) {
+				Object value = convertValue(val[0]);
+				map.hashMap.put(name, value);
+				map.treeMap.put(name, value);
+			} else {
+				LocalVariableSlot.ListElements elements = slot.getElements(val.length);
+				TreeMap<String, Object> list = new TreeMap<>(VariablesMap.variableNameComparator);
+				for (int j = 0; j < val.length; j++) {
+					Object value = convertValue(val[j]);
+					map.hashMap.put(elements.names[j], value);
+					list.put(elements.indices[j], value);
+				}
+				map.treeMap.put(name, list);
+			}
+		}
+		localVariables.put(event, map);
+	}
+	
 	/**
 	 * Creates a copy of the VariablesMap for local variables in an event.
 	 * @param event The event to copy local variables from.
@@ -330,6 +440,7 @@ public abstract class Variables {
 				return null;
 			return map.getVariable(n);
 		} else {
+			RuntimeMetrics.VARIABLE_READS.increment();
 			// Prevent race conditions from returning variables with incorrect values
 			if (!changeQueue.isEmpty()) {
 				for (VariableChange change : changeQueue) {
@@ -347,6 +458,150 @@ public abstract class Variables {
 		}
 	}
 	
+	/**
+	 * Starts maintaining a sorted index of the values of the given global list variable,
+	 * which is then updated on every change to the list. Does nothing if the list is already indexed.
+	 * <p>
+	 * Indices added by a script are removed once all scripts using them have been unloaded,
+	 * see {@link #removeSortedListIndices(File)}. Indices added without a script are kept until the server is stopped.
+	 *
+	 * @param name The name of the list variable without the trailing "::*", e.g. "balance" for <tt>{balance::*}</tt>
+	 * @param script The script which uses the index, or null if it should never be removed
+	 * @see #getSortedListEntries(String, int, boolean)
+	 */
+	@SuppressWarnings("unchecked")
+	public static void addSortedListIndex(String name, @Nullable File script) {
+		String n = caseInsensitiveVariables ? name.toLowerCase(Locale.ENGLISH) : name;
+		assert n != null;
+		variablesLock.writeLock().lock();
+		try {
+			Set<File> scripts = sortedListIndexScripts.get(n);
+			if (sortedListIndices.containsKey(n)) {
+				if (scripts != null) {
+					if (script == null)
+						sortedListIndexScripts.remove(n); // now permanent
+					else
+						scripts.add(script);
+				}
+				return;
+			}
+			if (script != null) {
+				scripts = new HashSet<>();
+				scripts.add(script);
+				sortedListIndexScripts.put(n, scripts);
+			}
+			SortedListIndex index = new SortedListIndex(n);
+			index.rebuild((Map<String, Object>) variables.getVariable(n + Variable.SEPARATOR + "*"));
+			sortedListIndices.put(n, index);
+		} finally {
+			variablesLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Removes the given script from the users of all sorted list indices,
+	 * and stops maintaining the indices which are no longer used by any script.
+	 *
+	 * @param script The unloaded script
+	 */
+	public static void removeSortedListIndices(File script) {
+		variablesLock.writeLock().lock();
+		try {
+			Iterator<Entry<String, Set<File>>> iter = sortedListIndexScripts.entrySet().iterator();
+			while (iter.hasNext()) {
+				Entry<String, Set<File>> e = iter.next();
+				if (e.getValue().remove(script) && e.getValue().isEmpty()) {
+					sortedListIndices.remove(e.getKey());
+					iter.remove();
+				}
+			}
+		} finally {
+			variablesLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Stops maintaining all sorted list indices which were added by scripts.
+	 */
+	public static void removeSortedListIndices() {
+		variablesLock.writeLock().lock();
+		try {
+			sortedListIndices.keySet().removeAll(sortedListIndexScripts.keySet());
+			sortedListIndexScripts.clear();
+		} finally {
+			variablesLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Gets the entries with the highest or lowest values of a global list variable
+	 * which is indexed using {@link #addSortedListIndex(String, File)}.
+	 *
+	 * @param name The name of the list variable without the trailing "::*"
+	 * @param amount The maximum amount of entries to get
+	 * @param descending Whether to get the entries with the highest values instead of the lowest
+	 * @return Pairs of index and value in sorted order, or null if the list is not indexed
+	 */
+	@Nullable
+	public static List<NonNullPair<String, Object>> getSortedListEntries(String name, int amount, boolean descending) {
+		String n = caseInsensitiveVariables ? name.toLowerCase(Locale.ENGLISH) : name;
+		variablesLock.readLock().lock();
+		try {
+			SortedListIndex index = sortedListIndices.get(n);
+			if (index == null)
+				return null;
+			return index.getFirst(amount, descending);
+		} finally {
+			variablesLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Updates the sorted list indices affected by the change of a global variable.
+	 * Must be called while holding the write lock of {@link #variablesLock}.
+	 */
+	private static void updateSortedListIndices(String name, @Nullable Object value) {
+		if (sortedListIndices.isEmpty())
+			return;
+		if (name.endsWith(Variable.SEPARATOR + "*")) {
+			// A whole list was deleted, which may be or contain an indexed list
+			String list = name.substring(0, name.length() - Variable.SEPARATOR.length() - 1);
+			for (SortedListIndex index : sortedListIndices.values()) {
+				if (index.name.equals(list) || index.name.startsWith(list + Variable.SEPARATOR))
+					index.clear();
+			}
+			return;
+		}
+		int separator = name.lastIndexOf(Variable.SEPARATOR);
+		if (separator == -1)
+			return;
+		SortedListIndex index = sortedListIndices.get(name.substring(0, separator));
+		if (index != null)
+			index.set(name.substring(separator + Variable.SEPARATOR.length()), value);
+	}
+	
+	private final static List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * Registers a listener which is notified of every change of a global variable.
+	 * <p>
+	 * The listener is called with the (lowercase, if variables are case insensitive) name of the changed variable,
+	 * which ends in "::*" if a whole list was deleted. It may be called from any thread,
+	 * before the change is visible to {@link #getVariable(String, Event, boolean)}, and must not block.
+	 */
+	public static void addChangeListener(Consumer<String> listener) {
+		changeListeners.add(listener);
+	}
+	
+	public static void removeChangeListener(Consumer<String> listener) {
+		changeListeners.remove(listener);
+	}
+	
+	private static void notifyChangeListeners(String name) {
+		for (Consumer<String> listener : changeListeners)
+			listener.accept(name);
+	}
+	
 	/**
 	 * Sets a variable.
 	 *
@@ -361,12 +616,7 @@ public abstract class Variables {
         assert n != null;
 	    if (value != null) {
 			assert !n.endsWith("::*");
-			final ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
-			final Class<?> sas = ci.getSerializeAs();
-			if (sas != null) {
-				value = Converters.convert(value, sas);
-				assert value != null : ci + ", " + sas;
-			}
+			value = convertValue(value);
 		}
 		if (local) {
 			assert e != null : n;
@@ -377,19 +627,119 @@ public abstract class Variables {
 		}
 	}
 	
+	/**
+	 * Changes several elements of a list variable at once. Global variables are only locked once for all changes,
+	 * and all values are serialised in a single task, which is much faster than setting each element
+	 * with {@link #setVariable(String, Object, Event, boolean)}.
+	 *
+	 * @param name The list's name, ending in "::*".
+	 * @param clear Whether to delete the whole list before changing its elements.
+	 * @param elements The indices and new values of the elements to change, in the order they should be changed.
+	 *            Indices may contain {@link Variable#SEPARATOR} to change elements of sublists,
+	 *            and a <tt>null</tt> value deletes the element.
+	 */
+	public static void setListVariable(String name, boolean clear, Map<String, Object> elements, @Nullable Event e, boolean local) {
+		String n = name;
+		if (caseInsensitiveVariables)
+			n = name.toLowerCase(Locale.ENGLISH);
+		assert n.endsWith(Variable.SEPARATOR + "*") : n;
+		String prefix = n.substring(0, n.length() - 1);
+		List<VariableChange> changes = new ArrayList<>(elements.size() + 1);
+		if (clear)
+			changes.add(new VariableChange(n, null));
+		for (Entry<String, Object> element : elements.entrySet()) {
+			String index = element.getKey();
+			if (caseInsensitiveVariables)
+				index = index.toLowerCase(Locale.ENGLISH);
+			Object value = element.getValue();
+			changes.add(new VariableChange(prefix + index, value == null ? null : convertValue(value)));
+		}
+		if (changes.isEmpty())
+			return;
+		if (local) {
+			assert e != null : n;
+			VariablesMap map = localVariables.computeIfAbsent(e, event -> new VariablesMap());
+			for (VariableChange change : changes)
+				map.setVariable(change.name, change.value);
+		} else {
+			setVariables(changes);
+		}
+	}
+	
+	/**
+	 * Converts a value to the class it's {@link ClassInfo#getSerializeAs() serialised as}, if any.
+	 */
+	private static Object convertValue(Object value) {
+		final ClassInfo<?> ci = Classes.getSuperClassInfo(value.getClass());
+		final Class<?> sas = ci.getSerializeAs();
+		if (sas != null) {
+			value = Converters.convert(value, sas);
+			assert value != null : ci + ", " + sas;
+		}
+		return value;
+	}
+	
 	static void setVariable(final String name, @Nullable final Object value) {
+		RuntimeMetrics.VARIABLE_WRITES.increment();
+		notifyChangeListeners(name);
+		VariableChange change = new VariableChange(name, value, prepareSave(name, value));
 		boolean gotLock = variablesLock.writeLock().tryLock();
 		if (gotLock) {
 			try {
-				variables.setVariable(name, value);
-				saveVariableChange(name, value);
+				changeVariable(change);
 				processChangeQueue(); // Process all previously queued writes
 			} finally {
 				variablesLock.writeLock().unlock();
 			}
 		} else { // Can't block here, queue the change
-			queueVariableChange(name, value);
+			changeQueue.add(change);
+		}
+	}
+	
+	/**
+	 * Changes several global variables, locking them only once and serialising all values in a single task.
+	 */
+	private static void setVariables(List<VariableChange> changes) {
+		RuntimeMetrics.VARIABLE_WRITES.add(changes.size());
+		for (VariableChange change : changes)
+			notifyChangeListeners(change.name);
+		List<VariableChange> prepared = prepareSaves(changes);
+		boolean gotLock = variablesLock.writeLock().tryLock();
+		if (gotLock) {
+			try {
+				processChangeQueue(); // Previously queued writes must happen first
+				for (VariableChange change : prepared)
+					changeVariable(change);
+			} finally {
+				variablesLock.writeLock().unlock();
+			}
+		} else { // Can't block here, queue the changes
+			changeQueue.addAll(prepared);
+		}
+	}
+	
+	/**
+	 * Changes a global variable and queues it to be saved.
+	 * As storages only know single variables, deleting a whole list saves the deletion of each variable in it.
+	 * Must be called while holding the write lock of {@link #variablesLock}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static void changeVariable(VariableChange change) {
+		String name = change.name;
+		Future<SerializedVariable> serialized = change.serialized;
+		if (serialized != null) {
+			saveQueue.add(serialized);
+		} else if (name.endsWith(Variable.SEPARATOR + "*")) {
+			Object list = variables.getVariable(name);
+			if (list instanceof Map) {
+				String parent = name.substring(0, name.length() - Variable.SEPARATOR.length() - 1);
+				VariablesMap.forEachName(parent, (Map<String, Object>) list, n -> saveQueue.add(CompletableFuture.completedFuture(new SerializedVariable(n, null))));
+			}
+		} else {
+			saveQueue.add(CompletableFuture.completedFuture(new SerializedVariable(name, null)));
 		}
+		variables.setVariable(name, change.value);
+		updateSortedListIndices(name, change.value);
 	}
 	
 	/**
@@ -405,23 +755,23 @@ public abstract class Variables {
 		public final String name;
 		@Nullable
 		public final Object value;
+		/**
+		 * The new value serialised for saving, or null if the variable is deleted or the change isn't {@link #prepareSaves(List) prepared} yet.
+		 */
+		@Nullable
+		public final Future<SerializedVariable> serialized;
 		
 		public VariableChange(String name, @Nullable Object value) {
+			this(name, value, null);
+		}
+		
+		public VariableChange(String name, @Nullable Object value, @Nullable Future<SerializedVariable> serialized) {
 			this.name = name;
 			this.value = value;
+			this.serialized = serialized;
 		}
 	}
 	
-	/**
-	 * Queues a variable change. Only to be called when direct write is not
-	 * possible, but thread cannot be allowed to block.
-	 * @param name Variable name.
-	 * @param value New value.
-	 */
-	private static void queueVariableChange(String name, @Nullable Object value) {
-		changeQueue.add(new VariableChange(name, value));
-	}
-	
 	/**
 	 * Processes all entries in variable change queue. Note that caller MUST
 	 * acquire write lock before calling this, then release it.
@@ -432,8 +782,7 @@ public abstract class Variables {
 			if (change == null)
 				break;
 			
-			variables.setVariable(change.name, change.value);
-			saveVariableChange(change.name, change.value);
+			changeVariable(change);
 		}
 	}
 	
@@ -484,21 +833,21 @@ public abstract class Variables {
 		variablesLock.writeLock().lock();
 		try {
 			variables.setVariable(name, value);
+			updateSortedListIndices(name, value);
 		} finally {
 			variablesLock.writeLock().unlock();
 		}
 
 		try {
-			for (final VariablesStorage s : storages) {
-				if (s.accept(name)) {
-					if (s != source) {
-						final Value v = serialize(value);
-						s.save(name, v != null ? v.type : null, v != null ? v.data : null);
-						if (value != null)
-							source.save(name, null, null);
-					}
-					return true;
+			final VariablesStorage s = getStorage(name);
+			if (s != null) {
+				if (s != source) {
+					final Value v = serialize(value);
+					s.save(name, v != null ? v.type : null, v != null ? v.data : null);
+					if (value != null)
+						source.save(name, null, null);
 				}
+				return true;
 			}
 		} catch (Exception e) {
 			Skript.exception(e, "Error saving variable named " + name);
@@ -541,8 +890,11 @@ public abstract class Variables {
 		}
 	}
 	
+	/**
+	 * Serialises a variable. Values whose {@link Serializer#mustSyncDeserialization() serialiser requires it}
+	 * must be serialised on Bukkit's main thread.
+	 */
 	public static SerializedVariable serialize(String name, @Nullable Object value) {
-		assert Bukkit.isPrimaryThread();
 		SerializedVariable.Value var;
 		try {
 			var = serialize(value);
@@ -553,29 +905,107 @@ public abstract class Variables {
 	}
 	
 	public static SerializedVariable.@Nullable Value serialize(@Nullable Object value) {
-		assert Bukkit.isPrimaryThread();
 		return Classes.serialize(value);
 	}
 
-	private static void saveVariableChange(String name, @Nullable Object value) {
-		saveQueue.add(serialize(name, value));
+	/**
+	 * Starts serialising a changed variable to be saved. Values are serialised by {@link #serializerPool} when possible,
+	 * so that only converting and possibly cloning the value happens on the calling thread.
+	 * Must be called before taking the {@link #variablesLock variables lock}, so that the lock is only held while adding the result to the {@link #saveQueue}.
+	 * 
+	 * @return The serialised variable, or null if the variable is deleted
+	 */
+	@Nullable
+	private static Future<SerializedVariable> prepareSave(String name, @Nullable Object value) {
+		if (value == null)
+			return null;
+		Object converted = convertValue(value);
+		Serializer<?> serializer = Classes.getSuperClassInfo(converted.getClass()).getSerializer();
+		if (serializer == null || serializer.mustSyncDeserialization() || serializerPool.isShutdown())
+			return CompletableFuture.completedFuture(serialize(name, value));
+		// Values of mutable types might be changed while being serialised, so a copy is serialised instead
+		Object snapshot = converted == value ? Classes.clone(value) : converted;
+		return CompletableFuture.supplyAsync(() -> serialize(name, snapshot), serializerPool);
+	}
+	
+	/**
+	 * Prepares several changed variables to be saved like {@link #prepareSave(String, Object)} does,
+	 * but serialises all values which don't have to be serialised on the calling thread in a single task.
+	 * 
+	 * @return The changes with their serialised values
+	 */
+	private static List<VariableChange> prepareSaves(List<VariableChange> changes) {
+		List<VariableChange> prepared = new ArrayList<>(changes.size());
+		List<String> names = new ArrayList<>();
+		List<Object> snapshots = new ArrayList<>();
+		List<CompletableFuture<SerializedVariable>> results = new ArrayList<>();
+		for (VariableChange change : changes) {
+			Object value = change.value;
+			if (value == null) {
+				prepared.add(change);
+				continue;
+			}
+			Object converted = convertValue(value);
+			Serializer<?> serializer = Classes.getSuperClassInfo(converted.getClass()).getSerializer();
+			if (serializer == null || serializer.mustSyncDeserialization() || serializerPool.isShutdown()) {
+				prepared.add(new VariableChange(change.name, value, CompletableFuture.completedFuture(serialize(change.name, value))));
+				continue;
+			}
+			CompletableFuture<SerializedVariable> result = new CompletableFuture<>();
+			names.add(change.name);
+			snapshots.add(converted == value ? Classes.clone(value) : converted);
+			results.add(result);
+			prepared.add(new VariableChange(change.name, value, result));
+		}
+		if (!results.isEmpty()) {
+			serializerPool.execute(() -> {
+				for (int i = 0; i < results.size(); i++) {
+					try {
+						results.get(i).complete(serialize(names.get(i), snapshots.get(i)));
+					} catch (RuntimeException e) {
+						results.get(i).completeExceptionally(e);
+					}
+				}
+			});
+		}
+		return prepared;
 	}
 	
-	static final BlockingQueue<SerializedVariable> saveQueue = new LinkedBlockingQueue<>();
+	/**
+	 * Variables to save, in the order they were changed. The serialisation of each
+	 * may still be in progress, so {@link #saveThread} waits for them one by one.
+	 */
+	static final BlockingQueue<Future<SerializedVariable>> saveQueue = new LinkedBlockingQueue<>();
+	
+	private static final int SERIALIZER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+	
+	private static final ExecutorService serializerPool = Executors.newFixedThreadPool(SERIALIZER_THREADS, r -> {
+		Thread thread = Skript.newThread(r, "Skript variable serializer");
+		thread.setDaemon(true);
+		return thread;
+	});
 	
-	static volatile boolean closed = false;
+	/**
+	 * Added to the {@link #saveQueue} to stop the {@link #saveThread} once all changes before it are saved.
+	 */
+	private static final Future<SerializedVariable> STOP_SAVING = new CompletableFuture<>();
 	
 	private static final Thread saveThread = Skript.newThread(() -> {
-		while (!closed) {
+		while (true) {
 			try {
 				// Save one variable change
-				SerializedVariable v = saveQueue.take();
-				for (VariablesStorage s : storages) {
-					if (s.accept(v.name)) {
-						s.save(v);
-						break;
-					}
+				Future<SerializedVariable> next = saveQueue.take();
+				if (next == STOP_SAVING)
+					return;
+				SerializedVariable v;
+				try {
+					v = next.get();
+				} catch (ExecutionException e) {
+					continue; // Already reported by serialize(String, Object)
 				}
+				VariablesStorage s = getStorage(v.name);
+				if (s != null)
+					s.save(v);
 			} catch (final InterruptedException ignored) {}
 		}
 	}, "Skript variable save thread");
@@ -588,13 +1018,20 @@ public abstract class Variables {
 			variablesLock.writeLock().unlock();
 		}
 		
-		while (saveQueue.size() > 0) {
-			try {
-				Thread.sleep(10);
-			} catch (final InterruptedException e) {}
+		// Finish serialising, then save everything up to the stop marker
+		serializerPool.shutdown();
+		try {
+			if (!serializerPool.awaitTermination(1, TimeUnit.MINUTES))
+				Skript.error("Serialising variables took more than a minute, some changes might not be saved");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		saveQueue.add(STOP_SAVING);
+		try {
+			saveThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 		}
-		closed = true;
-		saveThread.interrupt();
 	}
 	
 	public static int numVariables() {
@@ -23,11 +23,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.lang.Variable;
-import ch.njol.skript.util.Utils;
 import ch.njol.util.StringUtils;
 
 final class VariablesMap {
@@ -35,6 +35,9 @@ final class VariablesMap {
 	final static Comparator<String> variableNameComparator = new Comparator<String>() {
 		@Override
 		public int compare(@Nullable String s1, @Nullable String s2) {
+			if (s1 == s2)
+				return 0;
+
 			if (s1 == null)
 				return s2 == null ? 0 : -1;
 
@@ -54,8 +57,8 @@ final class VariablesMap {
 					int i2 = StringUtils.findLastDigit(s1, i);
 					int j2 = StringUtils.findLastDigit(s2, j);
 
-					long n1 = Utils.parseLong("" + s1.substring(i, i2));
-					long n2 = Utils.parseLong("" + s2.substring(j, j2));
+					long n1 = parseDigits(s1, i, i2);
+					long n2 = parseDigits(s2, j, j2);
 
 					// If the number is prefixed by a '-', it should be treated as negative, thus inverting the order.
 					// If the previous number was negative, and the only thing separating them was a '.',
@@ -100,6 +103,22 @@ final class VariablesMap {
 		}
 	};
 	
+	/**
+	 * Parses the digits between <tt>start</tt> and <tt>end</tt> without creating a substring,
+	 * as this is done for every comparison of list indices.
+	 * Numbers too large for a long are treated as {@link Long#MAX_VALUE}, like {@link ch.njol.skript.util.Utils#parseLong(String)} does.
+	 */
+	private static long parseDigits(String s, int start, int end) {
+		long n = 0;
+		for (int i = start; i < end; i++) {
+			int digit = s.charAt(i) - '0';
+			if (n > (Long.MAX_VALUE - digit) / 10)
+				return Long.MAX_VALUE;
+			n = n * 10 + digit;
+		}
+		return n;
+	}
+	
 	final HashMap<String, Object> hashMap = new HashMap<>();
 	final TreeMap<String, Object> treeMap = new TreeMap<>();
 	
@@ -142,6 +161,9 @@ final class VariablesMap {
 	
 	/**
 	 * Sets a variable.
+	 * <p>
+	 * Lists which only hold numbers at the indices 1, 2, 3, ... are stored as a {@link DenseNumberList}
+	 * as long as they stay like this, and as a TreeMap otherwise.
 	 * 
 	 * @param name The variable's name. Can be a "list variable::*" (<tt>value</tt> must be <tt>null</tt> in this case)
 	 * @param value The variable's value. Use <tt>null</tt> to delete the variable.
@@ -159,12 +181,33 @@ final class VariablesMap {
 		for (int i = 0; i < split.length; i++) {
 			String n = split[i];
 			Object current = parent.get(n);
+			if (current instanceof DenseNumberList) {
+				DenseNumberList list = (DenseNumberList) current;
+				if (i == split.length - 2 && split[i + 1].equals("*")) {
+					assert value == null;
+					deleteFromHashMap(StringUtils.join(split, Variable.SEPARATOR, 0, i + 1), list);
+					parent.remove(n);
+					break;
+				} else if (i == split.length - 2 && list.set(split[i + 1], value)) {
+					if (list.isEmpty())
+						parent.remove(n);
+					break;
+				} else if (value == null && i != split.length - 2) {
+					break; // The list has neither a value of its own nor sublists
+				}
+				// The change can't be represented by a dense list
+				parent.put(n, current = list.toTreeMap());
+			}
 			if (current == null) {
 				if (i == split.length - 1) {
 					if (value != null)
 						parent.put(n, value);
 					break;
 				} else if (value != null) {
+					if (i == split.length - 2 && DenseNumberList.canStart(split[i + 1], value)) {
+						parent.put(n, new DenseNumberList(value));
+						break;
+					}
 					parent.put(n, current = new TreeMap<>(variableNameComparator));
 					parent = (TreeMap<String, Object>) current;
 					continue;
@@ -211,15 +254,37 @@ final class VariablesMap {
 		}
 	}
 	
+	/**
+	 * Passes the name of each variable with a value in the given list and its sublists to <tt>action</tt>.
+	 * 
+	 * @param parent The name of the list, without the trailing "::*"
+	 */
+	@SuppressWarnings("unchecked")
+	static void forEachName(String parent, Map<String, Object> list, Consumer<String> action) {
+		for (Entry<String, Object> e : list.entrySet()) {
+			if (e.getKey() == null)
+				continue;
+			String name = parent + Variable.SEPARATOR + e.getKey();
+			Object val = e.getValue();
+			if (val instanceof Map) {
+				if (((Map<String, Object>) val).containsKey(null))
+					action.accept(name);
+				forEachName(name, (Map<String, Object>) val, action);
+			} else {
+				action.accept(name);
+			}
+		}
+	}
+	
 	@SuppressWarnings("unchecked")
-	void deleteFromHashMap(String parent, TreeMap<String, Object> current) {
+	void deleteFromHashMap(String parent, Map<String, Object> current) {
 		for (Entry<String, Object> e : current.entrySet()) {
 			if (e.getKey() == null)
 				continue;
 			hashMap.remove(parent + Variable.SEPARATOR + e.getKey());
 			Object val = e.getValue();
-			if (val instanceof TreeMap) {
-				deleteFromHashMap(parent + Variable.SEPARATOR + e.getKey(), (TreeMap<String, Object>) val);
+			if (val instanceof Map) {
+				deleteFromHashMap(parent + Variable.SEPARATOR + e.getKey(), (Map<String, Object>) val);
 			}
 		}
 	}
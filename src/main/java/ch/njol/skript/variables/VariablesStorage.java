@@ -234,6 +234,14 @@ public abstract class VariablesStorage implements Closeable {
 		return variablePattern != null ? variablePattern.matcher(var).matches() : true;
 	}
 	
+	/**
+	 * @return The pattern of the variables saved in this storage, or null if it saves all variables
+	 */
+	@Nullable
+	Pattern getVariablePattern() {
+		return variablePattern;
+	}
+	
 	private long lastWarning = Long.MIN_VALUE;
 	private final static int WARNING_INTERVAL = 10;
 	private long lastError = Long.MIN_VALUE;
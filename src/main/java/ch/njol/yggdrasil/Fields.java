@@ -20,6 +20,9 @@ package ch.njol.yggdrasil;
 
 import java.io.NotSerializableException;
 import java.io.StreamCorruptedException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -28,6 +31,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -61,10 +65,10 @@ public final class Fields implements Iterable<FieldContext> {
 			this.id = id;
 		}
 		
-		FieldContext(final Field f, final Object o) throws IllegalArgumentException, IllegalAccessException {
-			id = Yggdrasil.getID(f);
-			value = f.get(o);
-			isPrimitiveValue = f.getType().isPrimitive();
+		FieldContext(final FieldAccessor accessor, final Object o) {
+			id = accessor.id;
+			value = accessor.get(o);
+			isPrimitiveValue = accessor.primitive;
 		}
 		
 		public String getID() {
@@ -221,19 +225,102 @@ public final class Fields implements Iterable<FieldContext> {
 		this.yggdrasil = yggdrasil;
 		final Class<?> c = o.getClass();
 		assert c != null;
-		for (final Field f : getFields(c)) {
-			assert f != null;
+		for (final FieldAccessor accessor : getAccessors(c).accessors)
+			fields.put(accessor.id, new FieldContext(accessor, o));
+	}
+	
+	/**
+	 * Reads a field using a {@link MethodHandle} which is created once per field instead of using reflection for every access.
+	 */
+	final static class FieldAccessor {
+		
+		final Field field;
+		final String id;
+		final boolean primitive;
+		private final MethodHandle getter;
+		
+		FieldAccessor(final Field field, final String id) throws IllegalAccessException {
+			this.field = field;
+			this.id = id;
+			primitive = field.getType().isPrimitive();
+			getter = MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+		}
+		
+		@Nullable
+		Object get(final Object o) {
 			try {
-				fields.put(Yggdrasil.getID(f), new FieldContext(f, o));
-			} catch (final IllegalArgumentException e) {
-				assert false;
-			} catch (final IllegalAccessException e) {
-				assert false;
+				return (Object) getter.invokeExact(o);
+			} catch (final RuntimeException | Error e) {
+				throw e;
+			} catch (final Throwable e) {
+				throw new YggdrasilException(e);
 			}
 		}
+		
+	}
+	
+	/**
+	 * The serialisable fields of a class, or the exception to throw if it has none.
+	 */
+	private final static class ClassAccessors {
+		
+		final FieldAccessor[] accessors;
+		final Collection<Field> fields;
+		@Nullable
+		final String error;
+		
+		ClassAccessors(final FieldAccessor[] accessors) {
+			this.accessors = accessors;
+			final List<Field> fields = new ArrayList<>(accessors.length);
+			for (final FieldAccessor accessor : accessors)
+				fields.add(accessor.field);
+			this.fields = Collections.unmodifiableCollection(fields);
+			error = null;
+		}
+		
+		ClassAccessors(final String error) {
+			accessors = new FieldAccessor[0];
+			fields = Collections.emptyList();
+			this.error = error;
+		}
+		
 	}
 	
-	private final static Map<Class<?>, Collection<Field>> cache = new HashMap<>();
+	private final static ClassValue<ClassAccessors> cache = new ClassValue<ClassAccessors>() {
+		@Override
+		protected ClassAccessors computeValue(final @Nullable Class<?> c) {
+			assert c != null;
+			final List<FieldAccessor> accessors = new ArrayList<>();
+			final Set<String> ids = new HashSet<>();
+			for (Class<?> sc = c; sc != null; sc = sc.getSuperclass()) {
+				final Field[] fs = sc.getDeclaredFields();
+				for (final Field f : fs) {
+					final int m = f.getModifiers();
+					if (Modifier.isStatic(m) || Modifier.isTransient(m))
+						continue;
+					final String id = Yggdrasil.getID(f);
+					if (ids.contains(id))
+						return new ClassAccessors(c + "/" + sc + ": duplicate field id '" + id + "'");
+					f.setAccessible(true);
+					try {
+						accessors.add(new FieldAccessor(f, id));
+					} catch (final IllegalAccessException e) {
+						throw new YggdrasilException(e);
+					}
+					ids.add(id);
+				}
+			}
+			return new ClassAccessors(accessors.toArray(new FieldAccessor[0]));
+		}
+	};
+	
+	private static ClassAccessors getAccessors(final Class<?> c) throws NotSerializableException {
+		final ClassAccessors accessors = cache.get(c);
+		final String error = accessors.error;
+		if (error != null)
+			throw new NotSerializableException(error);
+		return accessors;
+	}
 	
 	/**
 	 * Gets all serialisable fields of the provided class, including superclasses.
@@ -243,29 +330,7 @@ public final class Fields implements Iterable<FieldContext> {
 	 * @throws NotSerializableException If a field occurs more than once (i.e. if a class has a field with the same name as a field in one of its superclasses)
 	 */
 	public static Collection<Field> getFields(final Class<?> c) throws NotSerializableException {
-		Collection<Field> fields = cache.get(c);
-		if (fields != null)
-			return fields;
-		fields = new ArrayList<>();
-		final Set<String> ids = new HashSet<>();
-		for (Class<?> sc = c; sc != null; sc = sc.getSuperclass()) {
-			final Field[] fs = sc.getDeclaredFields();
-			for (final Field f : fs) {
-				final int m = f.getModifiers();
-				if (Modifier.isStatic(m) || Modifier.isTransient(m))
-					continue;
-				final String id = Yggdrasil.getID(f);
-				if (ids.contains(id))
-					throw new NotSerializableException(c + "/" + sc + ": duplicate field id '" + id + "'");
-				f.setAccessible(true);
-				fields.add(f);
-				ids.add(id);
-			}
-		}
-		fields = Collections.unmodifiableCollection(fields);
-		assert fields != null;
-		cache.put(c, fields);
-		return fields;
+		return getAccessors(c).fields;
 	}
 	
 	/**
@@ -283,10 +348,9 @@ public final class Fields implements Iterable<FieldContext> {
 		final Set<FieldContext> excessive = new HashSet<>(fields.values());
 		final Class<?> oc = o.getClass();
 		assert oc != null;
-		for (final Field f : getFields(oc)) {
-			assert f != null;
-			final String id = Yggdrasil.getID(f);
-			final FieldContext c = fields.get(id);
+		for (final FieldAccessor accessor : getAccessors(oc).accessors) {
+			final Field f = accessor.field;
+			final FieldContext c = fields.get(accessor.id);
 			if (c == null) {
 				if (!(o instanceof YggdrasilRobustSerializable) || !((YggdrasilRobustSerializable) o).missingField(f))
 					y.missingField(o, f);